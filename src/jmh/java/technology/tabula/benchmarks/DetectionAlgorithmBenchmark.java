@@ -0,0 +1,40 @@
+package technology.tabula.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import technology.tabula.Rectangle;
+import technology.tabula.detectors.NurminenDetectionAlgorithm;
+import technology.tabula.detectors.NurminenDetectionAlgorithm.RulingSource;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DetectionAlgorithmBenchmark {
+
+    @Benchmark
+    public List<Rectangle> nurminen(PageState pageState) {
+        return new NurminenDetectionAlgorithm().detect(pageState.page);
+    }
+
+    @Benchmark
+    public List<Rectangle> nurminenMaskedRaster(PageState pageState) {
+        return new NurminenDetectionAlgorithm().detect(pageState.page, RulingSource.MASKED_RASTER);
+    }
+
+    @Benchmark
+    public List<Rectangle> nurminenVector(PageState pageState) {
+        return new NurminenDetectionAlgorithm().detect(pageState.page, RulingSource.VECTOR);
+    }
+
+}
@@ -0,0 +1,34 @@
+package technology.tabula.benchmarks;
+
+import java.io.IOException;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * One of the bundled documents, opened once per trial. Benchmarks use its first page.
+ */
+@State(Scope.Thread)
+public class DocumentState {
+
+    @Param({ "eu-002.pdf", "us-017.pdf", "twotables.pdf" })
+    public String fileName;
+
+    public PDDocument document;
+
+    @Setup(Level.Trial)
+    public void openDocument() throws IOException {
+        document = Fixtures.document(fileName);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeDocument() throws IOException {
+        document.close();
+    }
+
+}
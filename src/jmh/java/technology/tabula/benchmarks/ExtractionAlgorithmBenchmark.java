@@ -0,0 +1,42 @@
+package technology.tabula.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import technology.tabula.Cell;
+import technology.tabula.Table;
+import technology.tabula.extractors.BasicExtractionAlgorithm;
+import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtractionAlgorithmBenchmark {
+
+    @Benchmark
+    public List<Table> basic(PageState pageState) {
+        return new BasicExtractionAlgorithm().extract(pageState.page);
+    }
+
+    @Benchmark
+    public List<Table> spreadsheet(PageState pageState) {
+        return new SpreadsheetExtractionAlgorithm().extract(pageState.page);
+    }
+
+    @Benchmark
+    public List<Cell> findCells(PageState pageState) {
+        return SpreadsheetExtractionAlgorithm.findCells(
+                pageState.page.getHorizontalRulings(), pageState.page.getVerticalRulings());
+    }
+
+}
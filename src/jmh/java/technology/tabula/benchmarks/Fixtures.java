@@ -0,0 +1,32 @@
+package technology.tabula.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import technology.tabula.ObjectExtractor;
+import technology.tabula.Page;
+
+/**
+ * Loads the PDFs bundled with the tests. Benchmarks are run from the project directory.
+ */
+final class Fixtures {
+
+    static final String RESOURCES = "src/test/resources/technology/tabula/";
+
+    private Fixtures() {}
+
+    static PDDocument document(String fileName) throws IOException {
+        return Loader.loadPDF(new File(RESOURCES + fileName));
+    }
+
+    /**
+     * Extracts a page; the returned page keeps the document open.
+     */
+    static Page page(PDDocument document, int pageNumber) {
+        return new ObjectExtractor(document).extract(pageNumber);
+    }
+
+}
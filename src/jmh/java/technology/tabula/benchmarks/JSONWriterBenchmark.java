@@ -0,0 +1,109 @@
+package technology.tabula.benchmarks;
+
+import static java.lang.reflect.Modifier.PUBLIC;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import technology.tabula.Cell;
+import technology.tabula.RectangularTextContainer;
+import technology.tabula.Table;
+import technology.tabula.TextChunk;
+import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
+import technology.tabula.json.RectangularTextContainerSerializer;
+import technology.tabula.json.TableSerializer;
+import technology.tabula.writers.JSONWriter;
+
+/**
+ * Per-table cost of serializing with a Gson configuration shared across calls, against
+ * building a new one for every table as {@link JSONWriter} once did. Both serialize through the same
+ * type adapters, so only the configuration's cost differs; {@link WriterBenchmark} measures the
+ * streaming writer itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JSONWriterBenchmark {
+
+    private static final ExclusionStrategy ALL_CLASSES_SKIPPING_NON_PUBLIC_FIELDS = new ExclusionStrategy() {
+        @Override
+        public boolean shouldSkipClass(Class<?> c) {
+            return false;
+        }
+
+        @Override
+        public boolean shouldSkipField(FieldAttributes fieldAttributes) {
+            return !fieldAttributes.hasModifier(PUBLIC);
+        }
+    };
+
+    private static final Gson GSON = gson();
+
+    private PDDocument document;
+    private List<Table> tables;
+    private final StringBuilder out = new StringBuilder();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        document = Fixtures.document("twotables.pdf");
+        tables = new SpreadsheetExtractionAlgorithm().extract(Fixtures.page(document, 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        document.close();
+    }
+
+    @Benchmark
+    public int writeTableWithSharedGson() {
+        out.setLength(0);
+        for (Table table : tables) {
+            out.append(GSON.toJson(table, Table.class));
+        }
+        return out.length();
+    }
+
+    @Benchmark
+    public int writeTableWithFreshGson() {
+        out.setLength(0);
+        for (Table table : tables) {
+            out.append(gson().toJson(table, Table.class));
+        }
+        return out.length();
+    }
+
+    // the configuration JSONWriter built before it streamed its output
+    private static Gson gson() {
+        return new GsonBuilder()
+                .addSerializationExclusionStrategy(ALL_CLASSES_SKIPPING_NON_PUBLIC_FIELDS)
+                .registerTypeAdapter(Table.class, TableSerializer.INSTANCE)
+                .registerTypeAdapter(RectangularTextContainer.class, RectangularTextContainerSerializer.INSTANCE)
+                .registerTypeAdapter(Cell.class, RectangularTextContainerSerializer.INSTANCE)
+                .registerTypeAdapter(TextChunk.class, RectangularTextContainerSerializer.INSTANCE)
+                .create();
+    }
+
+}
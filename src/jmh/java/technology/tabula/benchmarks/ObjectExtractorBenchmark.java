@@ -0,0 +1,33 @@
+package technology.tabula.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import technology.tabula.ObjectExtractor;
+import technology.tabula.Page;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectExtractorBenchmark {
+
+    @Benchmark
+    public Page extract(DocumentState documentState) {
+        return new ObjectExtractor(documentState.document).extract(1);
+    }
+
+    @Benchmark
+    public Page extractColumnarText(DocumentState documentState) {
+        return new ObjectExtractor(documentState.document, true).extract(1);
+    }
+
+}
@@ -0,0 +1,24 @@
+package technology.tabula.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import technology.tabula.Page;
+
+/**
+ * A freshly extracted first page for every invocation, so that the rulings
+ * a {@link Page} caches after its first use do not carry over between calls.
+ */
+@State(Scope.Thread)
+public class PageState {
+
+    public Page page;
+
+    @Setup(Level.Invocation)
+    public void extractPage(DocumentState documentState) {
+        page = Fixtures.page(documentState.document, 1);
+    }
+
+}
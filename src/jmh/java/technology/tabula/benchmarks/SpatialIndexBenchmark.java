@@ -0,0 +1,87 @@
+package technology.tabula.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import technology.tabula.GridSpatialIndex;
+import technology.tabula.Page;
+import technology.tabula.Rectangle;
+import technology.tabula.RectangleSpatialIndex;
+import technology.tabula.SpatialIndex;
+import technology.tabula.TextElement;
+import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
+
+/**
+ * Building a text index for a page and querying it once per lattice cell, as
+ * {@link SpreadsheetExtractionAlgorithm} does; and querying a page's index with and
+ * without sorting each result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpatialIndexBenchmark {
+
+    private List<TextElement> textElements;
+    private List<Rectangle> cells;
+    private SpatialIndex<TextElement> pageIndex;
+
+    @Setup(Level.Trial)
+    public void findCells(DocumentState documentState) {
+        Page page = Fixtures.page(documentState.document, 1);
+        textElements = page.getText();
+        cells = new ArrayList<Rectangle>(SpreadsheetExtractionAlgorithm.findCells(
+                page.getHorizontalRulings(), page.getVerticalRulings()));
+        pageIndex = GridSpatialIndex.of(textElements);
+    }
+
+    @Benchmark
+    public void strTree(Blackhole blackhole) {
+        query(new RectangleSpatialIndex<TextElement>(), blackhole);
+    }
+
+    @Benchmark
+    public void grid(Blackhole blackhole) {
+        query(new GridSpatialIndex<TextElement>(), blackhole);
+    }
+
+    @Benchmark
+    public void containsSorted(Blackhole blackhole) {
+        for (Rectangle cell : cells) {
+            blackhole.consume(pageIndex.contains(cell));
+        }
+    }
+
+    @Benchmark
+    public void containsInOrder(Blackhole blackhole) {
+        for (Rectangle cell : cells) {
+            blackhole.consume(pageIndex.containsInOrder(cell));
+        }
+    }
+
+    private void query(SpatialIndex<TextElement> index, Blackhole blackhole) {
+        for (TextElement textElement : textElements) {
+            index.add(textElement);
+        }
+        for (Rectangle cell : cells) {
+            blackhole.consume(index.contains(cell));
+        }
+    }
+
+}
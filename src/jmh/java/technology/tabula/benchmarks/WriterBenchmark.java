@@ -0,0 +1,74 @@
+package technology.tabula.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import technology.tabula.Page;
+import technology.tabula.Table;
+import technology.tabula.extractors.BasicExtractionAlgorithm;
+import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
+import technology.tabula.writers.CSVWriter;
+import technology.tabula.writers.JSONWriter;
+import technology.tabula.writers.TSVWriter;
+import technology.tabula.writers.Writer;
+
+/**
+ * Serializes the tables of the first page, extracted the way the command line
+ * does when no extraction method is given.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WriterBenchmark {
+
+    @Param({ "CSV", "TSV", "JSON" })
+    public String format;
+
+    private Writer writer;
+    private List<Table> tables;
+    private final StringBuilder out = new StringBuilder();
+
+    @Setup(Level.Trial)
+    public void setUp(DocumentState documentState) {
+        switch (format) {
+            case "CSV":
+                writer = new CSVWriter();
+                break;
+            case "TSV":
+                writer = new TSVWriter();
+                break;
+            default:
+                writer = new JSONWriter();
+                break;
+        }
+
+        Page page = Fixtures.page(documentState.document, 1);
+        SpreadsheetExtractionAlgorithm spreadsheet = new SpreadsheetExtractionAlgorithm();
+        tables = spreadsheet.isTabular(page) ? spreadsheet.extract(page) : new BasicExtractionAlgorithm().extract(page);
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        out.setLength(0);
+        writer.write(out, tables);
+        return out.length();
+    }
+
+}
@@ -0,0 +1,182 @@
+package technology.tabula.detectors;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import technology.tabula.Ruling;
+import technology.tabula.Utils;
+
+/**
+ * The edge scans of {@link NurminenDetectionAlgorithm} on the 144 DPI rendering of
+ * us-017.pdf, sequentially and in stripes on the common fork-join pool, against the former
+ * scans that read pixels through {@link Raster#getPixel(int, int, int[])} and searched the
+ * rulings found so far.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EdgeScanBenchmark {
+
+    private static final int GRAYSCALE_INTENSITY_THRESHOLD = 25;
+    private static final int HORIZONTAL_EDGE_WIDTH_MINIMUM = 50;
+    private static final int VERTICAL_EDGE_HEIGHT_MINIMUM = 10;
+
+    private BufferedImage image;
+
+    @Setup(Level.Trial)
+    public void render() throws IOException {
+        try (PDDocument document = Loader.loadPDF(new File("src/test/resources/technology/tabula/us-017.pdf"))) {
+            image = Utils.pageConvertToImage(document, document.getPage(0), 144, ImageType.GRAY);
+        }
+    }
+
+    @Benchmark
+    public List<Ruling> horizontal() {
+        return NurminenDetectionAlgorithm.getHorizontalRulings(image);
+    }
+
+    @Benchmark
+    public List<Ruling> vertical() {
+        return NurminenDetectionAlgorithm.getVerticalRulings(image);
+    }
+
+    @Benchmark
+    public List<Ruling> horizontalParallel() {
+        return NurminenDetectionAlgorithm.getHorizontalRulings(image, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public List<Ruling> verticalParallel() {
+        return NurminenDetectionAlgorithm.getVerticalRulings(image, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public List<Ruling> horizontalGetPixel() {
+        return legacyHorizontalRulings(image);
+    }
+
+    @Benchmark
+    public List<Ruling> verticalGetPixel() {
+        return legacyVerticalRulings(image);
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    static List<Ruling> legacyHorizontalRulings(BufferedImage image) {
+        ArrayList<Ruling> horizontalRulings = new ArrayList<>();
+
+        Raster r = image.getRaster();
+        int width = r.getWidth();
+        int height = r.getHeight();
+
+        for (int x = 0; x < width; x++) {
+            int[] lastPixel = r.getPixel(x, 0, (int[]) null);
+            for (int y = 1; y < height - 1; y++) {
+                int[] currPixel = r.getPixel(x, y, (int[]) null);
+                int diff = Math.abs(currPixel[0] - lastPixel[0]);
+                if (diff > GRAYSCALE_INTENSITY_THRESHOLD) {
+                    boolean alreadyChecked = false;
+                    for (Line2D.Float line : horizontalRulings) {
+                        if (y == line.getY1() && x >= line.getX1() && x <= line.getX2()) {
+                            alreadyChecked = true;
+                            break;
+                        }
+                    }
+                    if (alreadyChecked) {
+                        lastPixel = currPixel;
+                        continue;
+                    }
+                    int lineX = x + 1;
+                    while (lineX < width) {
+                        int[] linePixel = r.getPixel(lineX, y, (int[]) null);
+                        int[] abovePixel = r.getPixel(lineX, y - 1, (int[]) null);
+                        if (Math.abs(linePixel[0] - abovePixel[0]) <= GRAYSCALE_INTENSITY_THRESHOLD
+                                || Math.abs(currPixel[0] - linePixel[0]) > GRAYSCALE_INTENSITY_THRESHOLD) {
+                            break;
+                        }
+                        lineX++;
+                    }
+                    int endX = lineX - 1;
+                    int lineWidth = endX - x;
+                    if (lineWidth > HORIZONTAL_EDGE_WIDTH_MINIMUM) {
+                        horizontalRulings.add(new Ruling(new Point2D.Float(x, y), new Point2D.Float(endX, y)));
+                    }
+                }
+                lastPixel = currPixel;
+            }
+        }
+        return horizontalRulings;
+    }
+
+    static List<Ruling> legacyVerticalRulings(BufferedImage image) {
+        ArrayList<Ruling> verticalRulings = new ArrayList<>();
+
+        Raster r = image.getRaster();
+        int width = r.getWidth();
+        int height = r.getHeight();
+
+        for (int y = 0; y < height; y++) {
+            int[] lastPixel = r.getPixel(0, y, (int[]) null);
+            for (int x = 1; x < width - 1; x++) {
+                int[] currPixel = r.getPixel(x, y, (int[]) null);
+                int diff = Math.abs(currPixel[0] - lastPixel[0]);
+                if (diff > GRAYSCALE_INTENSITY_THRESHOLD) {
+                    boolean alreadyChecked = false;
+                    for (Line2D.Float line : verticalRulings) {
+                        if (x == line.getX1() && y >= line.getY1() && y <= line.getY2()) {
+                            alreadyChecked = true;
+                            break;
+                        }
+                    }
+                    if (alreadyChecked) {
+                        lastPixel = currPixel;
+                        continue;
+                    }
+                    int lineY = y + 1;
+                    while (lineY < height) {
+                        int[] linePixel = r.getPixel(x, lineY, (int[]) null);
+                        int[] leftPixel = r.getPixel(x - 1, lineY, (int[]) null);
+                        if (Math.abs(linePixel[0] - leftPixel[0]) <= GRAYSCALE_INTENSITY_THRESHOLD
+                                || Math.abs(currPixel[0] - linePixel[0]) > GRAYSCALE_INTENSITY_THRESHOLD) {
+                            break;
+                        }
+                        lineY++;
+                    }
+                    int endY = lineY - 1;
+                    int lineLength = endY - y;
+                    if (lineLength > VERTICAL_EDGE_HEIGHT_MINIMUM) {
+                        verticalRulings.add(new Ruling(new Point2D.Float(x, y), new Point2D.Float(x, endY)));
+                    }
+                }
+                lastPixel = currPixel;
+            }
+        }
+        return verticalRulings;
+    }
+
+}
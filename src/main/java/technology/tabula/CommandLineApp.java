@@ -5,8 +5,12 @@ import java.io.File;
 import java.io.FilenameFilter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -24,8 +28,8 @@ import technology.tabula.extractors.BasicExtractionAlgorithm;
 import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
 import technology.tabula.writers.CSVWriter;
 import technology.tabula.writers.JSONWriter;
+import technology.tabula.writers.StreamingWriter;
 import technology.tabula.writers.TSVWriter;
-import technology.tabula.writers.Writer;
 
 
 public class CommandLineApp {
@@ -44,6 +48,7 @@ public class CommandLineApp {
     private List<Integer> pages;
     private OutputFormat outputFormat;
     private String password;
+    private int threads;
     private TableExtractor tableExtractor;
 
     public CommandLineApp(Appendable defaultOutput, CommandLine line) throws ParseException {
@@ -52,6 +57,7 @@ public class CommandLineApp {
         this.pages = CommandLineApp.whichPages(line);
         this.outputFormat = CommandLineApp.whichOutputFormat(line);
         this.tableExtractor = CommandLineApp.createExtractor(line);
+        this.threads = CommandLineApp.whichThreads(line);
 
         if (line.hasOption('s')) {
             this.password = line.getOptionValue('s');
@@ -156,57 +162,93 @@ public class CommandLineApp {
         }
     }
 
-    private void extractFile(File pdfFile, Appendable outFile) throws ParseException {
+    private void extractFile(final File pdfFile, Appendable outFile) throws ParseException {
         PDDocument pdfDocument = null;
+        ObjectExtractor extractor = null;
+        ExecutorService executor = null;
         try {
-            pdfDocument = this.password == null ?  Loader.loadPDF(pdfFile) :  Loader.loadPDF(pdfFile,password);
-            PageIterator pageIterator = getPageIterator(pdfDocument);
-            List<Table> tables = new ArrayList<>();
-
-            while (pageIterator.hasNext()) {
-                Page page = pageIterator.next();
+            pdfDocument = loadDocument(pdfFile);
+            extractor = new ObjectExtractor(pdfDocument);
+            PageIterator pageIterator;
+            if (threads > 1) {
+                executor = Executors.newFixedThreadPool(threads);
+                pageIterator = getPageIterator(extractor, executor, new Callable<PDDocument>() {
+                    @Override
+                    public PDDocument call() throws IOException {
+                        return loadDocument(pdfFile);
+                    }
+                });
+            } else {
+                pageIterator = getPageIterator(extractor);
+            }
+            StreamingWriter writer = createWriter();
+            writer.begin(outFile);
+            try {
+                while (pageIterator.hasNext()) {
+                    Page page = pageIterator.next();
 
-                if (tableExtractor.verticalRulingPositions != null) {
-                    for (Float verticalRulingPosition : tableExtractor.verticalRulingPositions) {
-                        page.addRuling(new Ruling(0, verticalRulingPosition, 0.0f, (float) page.getHeight()));
+                    if (tableExtractor.verticalRulingPositions != null) {
+                        for (Float verticalRulingPosition : tableExtractor.verticalRulingPositions) {
+                            page.addRuling(new Ruling(0, verticalRulingPosition, 0.0f, (float) page.getHeight()));
+                        }
                     }
-                }
 
-                if (pageAreas != null) {
-                    for (Pair<Integer, Rectangle> areaPair : pageAreas) {
-                        Rectangle area = areaPair.getRight();
-                        if (areaPair.getLeft() == RELATIVE_AREA_CALCULATION_MODE) {
-                            area = new Rectangle((float) (area.getTop() / 100 * page.getHeight()),
-                                    (float) (area.getLeft() / 100 * page.getWidth()), (float) (area.getWidth() / 100 * page.getWidth()),
-                                    (float) (area.getHeight() / 100 * page.getHeight()));
+                    if (pageAreas != null) {
+                        for (Pair<Integer, Rectangle> areaPair : pageAreas) {
+                            Rectangle area = areaPair.getRight();
+                            if (areaPair.getLeft() == RELATIVE_AREA_CALCULATION_MODE) {
+                                area = new Rectangle((float) (area.getTop() / 100 * page.getHeight()),
+                                        (float) (area.getLeft() / 100 * page.getWidth()), (float) (area.getWidth() / 100 * page.getWidth()),
+                                        (float) (area.getHeight() / 100 * page.getHeight()));
+                            }
+                            writeTables(writer, tableExtractor.extractTables(page.getArea(area)));
                         }
-                        tables.addAll(tableExtractor.extractTables(page.getArea(area)));
+                    } else {
+                        writeTables(writer, tableExtractor.extractTables(page));
                     }
-                } else {
-                    tables.addAll(tableExtractor.extractTables(page));
                 }
+            } finally {
+                // a page that fails still leaves well-formed output, with the tables written before it
+                writer.end();
             }
-            writeTables(tables, outFile);
         } catch (IOException e) {
             throw new ParseException(e.getMessage());
+        } catch (UncheckedIOException e) {
+            // a page that failed to parse on a worker thread
+            throw new ParseException(e.getCause().getMessage());
         } finally {
+            // the extractor cancels the pages still queued on the executor, and waits for those being parsed
             try {
-                if (pdfDocument != null) {
+                if (extractor != null) {
+                    extractor.close();
+                } else if (pdfDocument != null) {
                     pdfDocument.close();
                 }
             } catch (IOException e) {
                 System.out.println("Error in closing pdf document" + e);
             }
+            if (executor != null) {
+                executor.shutdownNow();
+            }
         }
     }
 
-    private PageIterator getPageIterator(PDDocument pdfDocument) throws IOException {
-        ObjectExtractor extractor = new ObjectExtractor(pdfDocument);
+    private PDDocument loadDocument(File pdfFile) throws IOException {
+        return this.password == null ?  Loader.loadPDF(pdfFile) :  Loader.loadPDF(pdfFile,password);
+    }
+
+    private PageIterator getPageIterator(ObjectExtractor extractor) throws IOException {
         return (pages == null) ?
                 extractor.extract() :
                 extractor.extract(pages);
     }
 
+    private PageIterator getPageIterator(ObjectExtractor extractor, ExecutorService executor, Callable<PDDocument> documentLoader) throws IOException {
+        return (pages == null) ?
+                extractor.extract(executor, documentLoader, threads) :
+                extractor.extract(pages, executor, documentLoader, threads);
+    }
+
     // CommandLine parsing methods
 
     private static OutputFormat whichOutputFormat(CommandLine line) throws ParseException {
@@ -253,6 +295,22 @@ public class CommandLineApp {
         return Utils.parsePagesOption(pagesOption);
     }
 
+    private static int whichThreads(CommandLine line) throws ParseException {
+        if (!line.hasOption("threads")) {
+            return 1;
+        }
+
+        try {
+            int threads = Integer.parseInt(line.getOptionValue("threads"));
+            if (threads < 1) {
+                throw new ParseException("threads must be a positive number");
+            }
+            return threads;
+        } catch (NumberFormatException e) {
+            throw new ParseException("threads must be a positive number");
+        }
+    }
+
     private static ExtractionMethod whichExtractionMethod(CommandLine line) {
         // -r/--spreadsheet [deprecated; use -l] or -l/--lattice
         if (line.hasOption('r') || line.hasOption('l')) {
@@ -364,6 +422,12 @@ public class CommandLineApp {
                 .hasArg()
                 .argName("PAGES")
                 .build());
+        o.addOption(Option.builder()
+                .longOpt("threads")
+                .desc("Number of pages to parse concurrently. Each thread opens its own copy of the document. Default is --threads 1")
+                .hasArg()
+                .argName("THREADS")
+                .build());
 
         return o;
     }
@@ -459,8 +523,14 @@ public class CommandLineApp {
         }
     }
 
-    private void writeTables(List<Table> tables, Appendable out) throws IOException {
-        Writer writer = null;
+    private static void writeTables(StreamingWriter writer, List<Table> tables) throws IOException {
+        for (Table table : tables) {
+            writer.writeTable(table);
+        }
+    }
+
+    private StreamingWriter createWriter() {
+        StreamingWriter writer = null;
         switch (outputFormat) {
             case CSV:
                 writer = new CSVWriter();
@@ -472,7 +542,7 @@ public class CommandLineApp {
                 writer = new TSVWriter();
                 break;
         }
-        writer.write(out, tables);
+        return writer;
     }
 
     private String getOutputFilename(File pdfFile) {
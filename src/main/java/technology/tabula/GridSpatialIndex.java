@@ -0,0 +1,100 @@
+package technology.tabula;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link SpatialIndex} that buckets rectangles in a uniform grid. It suits the glyphs of a
+ * page, which are small and of fairly similar size, better than a tree.
+ * <p>
+ * Queries find rectangles in the order they were added, which {@link #containsInOrder(Rectangle)}
+ * keeps and {@link #contains(Rectangle)} sorts. An index filled with {@link #add} packs its grid on the first query after an
+ * addition. An index bulk-loaded with {@link #of(List)} is packed once and immutable, and can
+ * be queried by several threads at once; so can an index that is no longer added to.
+ */
+public class GridSpatialIndex<T extends Rectangle> implements SpatialIndex<T> {
+
+    private final List<T> rectangles;
+    private final boolean bulkLoaded;
+    private RectangleGrid grid;
+
+    public GridSpatialIndex() {
+        this.rectangles = new ArrayList<>();
+        this.bulkLoaded = false;
+    }
+
+    private GridSpatialIndex(List<T> rectangles) {
+        this.rectangles = Collections.unmodifiableList(new ArrayList<>(rectangles));
+        this.bulkLoaded = true;
+        this.grid = RectangleGrid.of(this.rectangles);
+    }
+
+    /**
+     * @return an immutable index of {@code rectangles}, packed in a single pass
+     */
+    public static <T extends Rectangle> GridSpatialIndex<T> of(List<T> rectangles) {
+        return new GridSpatialIndex<>(rectangles);
+    }
+
+    @Override
+    public void add(T rectangle) {
+        if (bulkLoaded) {
+            throw new UnsupportedOperationException("Can't add to a bulk-loaded index.");
+        }
+        rectangles.add(rectangle);
+        grid = null;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public List<T> contains(Rectangle r) {
+        List<T> rv = containsInOrder(r);
+        Utils.sort(rv, Rectangle.ILL_DEFINED_ORDER);
+        return rv;
+    }
+
+    @Override
+    public List<T> containsInOrder(Rectangle r) {
+        List<T> rv = new ArrayList<>();
+        for (int i : getGrid().intersecting(r)) {
+            T candidate = rectangles.get(i);
+            if (r.contains(candidate)) {
+                rv.add(candidate);
+            }
+        }
+        return rv;
+    }
+
+    @Override
+    public List<T> intersects(Rectangle r) {
+        List<T> rv = new ArrayList<>();
+        for (int i : getGrid().intersecting(r)) {
+            rv.add(rectangles.get(i));
+        }
+        return rv;
+    }
+
+    /**
+     * @return the indexed rectangles, in the order they were added
+     */
+    List<T> getRectangles() {
+        return Collections.unmodifiableList(rectangles);
+    }
+
+    @Override
+    public Rectangle getBounds() {
+        return Rectangle.boundingBoxOf(rectangles);
+    }
+
+    private RectangleGrid getGrid() {
+        // grids only have final fields, so a grid packed by a concurrent query is safe to use
+        RectangleGrid grid = this.grid;
+        if (grid == null) {
+            grid = RectangleGrid.of(rectangles);
+            this.grid = grid;
+        }
+        return grid;
+    }
+
+}
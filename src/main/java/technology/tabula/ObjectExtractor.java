@@ -1,6 +1,10 @@
 package technology.tabula;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -8,25 +12,58 @@ import org.apache.pdfbox.pdmodel.PDPage;
 public class ObjectExtractor implements java.io.Closeable {
 
     private final PDDocument pdfDocument;
+    private final boolean columnarText;
+    private final boolean dropObliqueRulings;
+    private final List<ParallelPageIterator> parallelIterators = new ArrayList<>();
 
     public ObjectExtractor(PDDocument pdfDocument) {
+        this(pdfDocument, false);
+    }
+
+    /**
+     * @param columnarText keep the text of extracted pages in {@link TextElementColumns}, which
+     *                     takes far less memory than one {@link TextElement} per glyph on dense pages.
+     *                     The page's text is then read as new {@link TextElement}s on every access, so
+     *                     callers that compare or update elements by identity should keep the default
+     */
+    public ObjectExtractor(PDDocument pdfDocument, boolean columnarText) {
+        this(pdfDocument, columnarText, false);
+    }
+
+    /**
+     * @param columnarText       see {@link #ObjectExtractor(PDDocument, boolean)}
+     * @param dropObliqueRulings drop painted segments that are neither (nearly) horizontal nor vertical
+     *                           as soon as they are read, which saves work on pages with many of them,
+     *                           such as maps and charts. Oblique rulings are otherwise kept, and their
+     *                           endpoints are snapped together with those of the other rulings, so
+     *                           dropping them can change the cells that lattice extraction finds.
+     */
+    public ObjectExtractor(PDDocument pdfDocument, boolean columnarText, boolean dropObliqueRulings) {
         this.pdfDocument = pdfDocument;
+        this.columnarText = columnarText;
+        this.dropObliqueRulings = dropObliqueRulings;
     }
 
     // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
     protected Page extractPage(Integer pageNumber) throws IOException {
+        return pageBuilder(pageNumber).build();
+    }
+
+    /**
+     * Parses a page of this extractor's document and returns a builder bound to it.
+     * Callers that parsed the page on a different document instance can re-bind the
+     * builder with {@link Page.Builder#withPdPage} and {@link Page.Builder#withPdDocument}.
+     */
+    Page.Builder pageBuilder(Integer pageNumber) throws IOException {
         if (pageNumber > pdfDocument.getNumberOfPages() || pageNumber < 1) {
             throw new java.lang.IndexOutOfBoundsException("Page number does not exist.");
         }
         PDPage page = pdfDocument.getPage(pageNumber - 1);
 
-        ObjectExtractorStreamEngine streamEngine = new ObjectExtractorStreamEngine(page);
-        streamEngine.processPage(page);
-
-        TextStripper textStripper = new TextStripper(pdfDocument, pageNumber);
+        TextAndRulingStripper textStripper = new TextAndRulingStripper(pdfDocument, pageNumber, columnarText, dropObliqueRulings);
         textStripper.process();
 
-        Utils.sort(textStripper.getTextElements(), Rectangle.ILL_DEFINED_ORDER);
+        TextElementColumns textElementColumns = textStripper.getTextElementColumns();
 
         float width, height;
         int rotation = page.getRotation();
@@ -44,11 +81,25 @@ public class ObjectExtractor implements java.io.Closeable {
                 .withNumber(pageNumber)
                 .withPdPage(page)
                 .withPdDocument(pdfDocument)
-                .withRulings(streamEngine.rulings)
-                .withTextElements(textStripper.getTextElements())
+                .withRulings(textStripper.getRulings())
+                .withTextElements(textElementColumns != null ? null : textStripper.getTextElements())
+                .withTextElementColumns(textElementColumns)
                 .withMinCharWidth(textStripper.getMinCharWidth())
                 .withMinCharHeight(textStripper.getMinCharHeight())
-                .withIndex(textStripper.getSpatialIndex())
+                .withTextIndex(textStripper.getTextIndex());
+    }
+
+    /**
+     * @return an extractor for {@code document} that extracts pages the same way as this one
+     */
+    ObjectExtractor withDocument(PDDocument document) {
+        return new ObjectExtractor(document, columnarText, dropObliqueRulings);
+    }
+
+    Page bindPage(Page.Builder builder, int pageNumber) {
+        return builder
+                .withPdPage(pdfDocument.getPage(pageNumber - 1))
+                .withPdDocument(pdfDocument)
                 .build();
     }
 
@@ -65,9 +116,43 @@ public class ObjectExtractor implements java.io.Closeable {
         return extract(Utils.range(pageNumber, pageNumber + 1)).next();
     }
 
+    /**
+     * Extracts pages on the threads of {@code executor}, up to {@code parallelism} at a time.
+     * <p>
+     * PDFBox documents are not thread-safe, so every worker parses pages from its own
+     * document instance obtained from {@code documentLoader}. Pages are still returned in
+     * the order of {@code pages} and refer to this extractor's document. At most
+     * {@code parallelism} pages are parsed ahead of the caller, and as many documents loaded.
+     * They are closed once the last page is returned, or when the iterator or this extractor
+     * is closed, so iterators that are abandoned early should be closed.
+     */
+    public PageIterator extract(Iterable<Integer> pages, ExecutorService executor, Callable<PDDocument> documentLoader, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        ParallelPageIterator iterator = new ParallelPageIterator(this, pages, executor, documentLoader, parallelism);
+        parallelIterators.add(iterator);
+        return iterator;
+    }
+
+    public PageIterator extract(ExecutorService executor, Callable<PDDocument> documentLoader, int parallelism) {
+        return extract(Utils.range(1, pdfDocument.getNumberOfPages() + 1), executor, documentLoader, parallelism);
+    }
+
+    void release(ParallelPageIterator iterator) {
+        parallelIterators.remove(iterator);
+    }
+
     // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
     public void close() throws IOException {
-        pdfDocument.close();
+        try {
+            // closing an iterator releases it from parallelIterators
+            for (ParallelPageIterator iterator : new ArrayList<>(parallelIterators)) {
+                iterator.close();
+            }
+        } finally {
+            pdfDocument.close();
+        }
     }
-    
+
 }
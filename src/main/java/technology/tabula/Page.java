@@ -32,7 +32,11 @@ public class Page extends Rectangle {
     private PDPage pdPage;
     private PDDocument pdDoc;
 
-    private RectangleSpatialIndex<TextElement> spatialIndex;
+    private SpatialIndex<TextElement> spatialIndex;
+    private TextElementColumns textElementColumns;
+
+    // built from the text of spatialIndex the first time getSpatialIndex() needs it
+    private RectangleSpatialIndex<TextElement> rectangleSpatialIndex;
 
     private static final float DEFAULT_MIN_CHAR_LENGTH = 7;
 
@@ -46,18 +50,20 @@ public class Page extends Rectangle {
             List<Ruling> rulings,
             float minCharWidth,
             float minCharHeight,
-            RectangleSpatialIndex<TextElement> index
+            SpatialIndex<TextElement> index,
+            TextElementColumns textElementColumns
     ) {
         super(pageDims.getTop(), pageDims.getLeft(), pageDims.getWidth(), pageDims.getHeight());
         this.rotation = rotation;
         this.number = number;
         this.pdPage = pdPage;
         this.pdDoc = doc;
-        this.textElements = characters;
+        this.textElements = characters != null || textElementColumns == null ? characters : textElementColumns.asList();
         this.rulings = rulings;
         this.minCharWidth = minCharWidth;
         this.minCharHeight = minCharHeight;
         this.spatialIndex = index;
+        this.textElementColumns = textElementColumns;
     }
 
   /**
@@ -93,7 +99,7 @@ public class Page extends Rectangle {
       this(top, left, width, height, rotation, number, pdPage, doc, textStripper.getTextElements(), streamEngine.rulings);
       this.minCharWidth = textStripper.getMinCharWidth();
       this.minCharHeight = textStripper.getMinCharHeight();
-      this.spatialIndex = textStripper.getSpatialIndex();
+      this.spatialIndex = textStripper.getTextIndex();
     }
 
 
@@ -128,7 +134,8 @@ public class Page extends Rectangle {
                 .withRulings(Ruling.cropRulingsToArea(getRulings(), area))
                 .withMinCharWidth(minimumCharWidth)
                 .withMinCharHeight(minimumCharHeight)
-                .withIndex(spatialIndex)
+                .withTextIndex(spatialIndex)
+                .withTextElementColumns(textElementColumns)
                 .build();
 
         addBorderRulingsTo(page);
@@ -192,12 +199,28 @@ public class Page extends Rectangle {
     }
 
     // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    /**
+     * Returns the text of the page. For pages with columnar text, see
+     * {@link ObjectExtractor#ObjectExtractor(org.apache.pdfbox.pdmodel.PDDocument, boolean)}, this is a
+     * read-only view that creates a new, equal {@link TextElement} each time an element is read.
+     */
     public List<TextElement> getText() {
         return textElements;
     }
 
     public List<TextElement> getText(Rectangle area) {
-        return spatialIndex.contains(area);
+        return textElementColumns != null ? textElementColumns.contains(area) : spatialIndex.contains(area);
+    }
+
+    /**
+     * Returns the text inside of {@code area} in the order of the page's text index, without sorting it.
+     * Pages made by {@link ObjectExtractor} index their text in reading order, so this is the order of
+     * {@link #getText()} of the whole page. As {@link Rectangle#ILL_DEFINED_ORDER} is not transitive, it
+     * may differ from {@link #getText(Rectangle)} where glyphs sort differently among the whole page
+     * than among the ones in {@code area} alone.
+     */
+    public List<TextElement> getTextInPageOrder(Rectangle area) {
+        return textElementColumns != null ? textElementColumns.containsInOrder(area) : spatialIndex.containsInOrder(area);
     }
 
     /**
@@ -324,11 +347,40 @@ public class Page extends Rectangle {
     // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
 
     /**
+     * @return the page's text in columns, or {@code null} if it is held in {@link TextElement}s
+     */
+    public TextElementColumns getTextElementColumns() {
+        return textElementColumns;
+    }
+
+    /**
+     * Pages made by {@link ObjectExtractor} index their text in a {@link GridSpatialIndex} or in their
+     * {@link TextElementColumns}, so for them this builds a {@link RectangleSpatialIndex} of the same
+     * text the first time it is called. Text elements read from columns are new objects.
+     *
      * @deprecated with no replacement
      */
     @Deprecated
     public RectangleSpatialIndex<TextElement> getSpatialIndex() {
-        return spatialIndex;
+        if (spatialIndex instanceof RectangleSpatialIndex) {
+            return (RectangleSpatialIndex<TextElement>) spatialIndex;
+        }
+        if (rectangleSpatialIndex == null && (spatialIndex != null || textElementColumns != null)) {
+            List<TextElement> indexed;
+            if (textElementColumns != null) {
+                indexed = textElementColumns.asList();
+            } else if (spatialIndex instanceof GridSpatialIndex) {
+                indexed = ((GridSpatialIndex<TextElement>) spatialIndex).getRectangles();
+            } else {
+                indexed = spatialIndex.intersects(spatialIndex.getBounds());
+            }
+            RectangleSpatialIndex<TextElement> index = new RectangleSpatialIndex<>();
+            for (TextElement te : indexed) {
+                index.add(te);
+            }
+            rectangleSpatialIndex = index;
+        }
+        return rectangleSpatialIndex;
     }
 
     public static class Builder {
@@ -341,7 +393,8 @@ public class Page extends Rectangle {
         private List<Ruling> rulings;
         private float minCharWidth;
         private float minCharHeight;
-        private RectangleSpatialIndex<TextElement> index;
+        private SpatialIndex<TextElement> index;
+        private TextElementColumns textElementColumns;
 
         private Builder() {}
 
@@ -409,8 +462,27 @@ public class Page extends Rectangle {
             return this;
         }
 
+        /**
+         * The index {@link Page#getText(Rectangle)} queries, unless the page's text is held in columns.
+         */
+        public Builder withTextIndex(SpatialIndex<TextElement> index) {
+            this.index = index;
+
+            return this;
+        }
+
+        /**
+         * The page's text, held in columns. {@link Page#getText(Rectangle)} always queries them, {@link Page#getText()}
+         * returns them unless text elements are given too, as for the areas of a columnar page.
+         */
+        public Builder withTextElementColumns(TextElementColumns textElementColumns) {
+            this.textElementColumns = textElementColumns;
+
+            return this;
+        }
+
         public Page build() {
-            return new Page(pageDims, rotation, number, pdPage, pdDocument, textElements, rulings, minCharWidth, minCharHeight, index);
+            return new Page(pageDims, rotation, number, pdPage, pdDocument, textElements, rulings, minCharWidth, minCharHeight, index, textElementColumns);
         }
     }
 }
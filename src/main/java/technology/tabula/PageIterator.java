@@ -1,9 +1,10 @@
 package technology.tabula;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.Iterator;
 
-public class PageIterator implements Iterator<Page> {
+public class PageIterator implements Iterator<Page>, Closeable {
 
     private ObjectExtractor objectExtractor;
     private Iterator<Integer> pageIndexIterator;
@@ -40,4 +41,12 @@ public class PageIterator implements Iterator<Page> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Releases what the iterator holds for pages it hasn't returned yet. Pages are parsed as
+     * they are returned here, so there is nothing to release.
+     */
+    @Override
+    public void close() throws IOException {
+    }
+
 }
@@ -0,0 +1,213 @@
+package technology.tabula;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+/**
+ * A {@link PageIterator} that parses pages ahead of the caller on an {@link ExecutorService}.
+ * <p>
+ * Each worker borrows an {@link ObjectExtractor} backed by its own {@link PDDocument}, so no
+ * document is ever touched by two threads at once. Parsed pages are re-bound to the owning
+ * extractor's document on the calling thread, in page order.
+ * <p>
+ * At most {@code parallelism} pages are being parsed or waiting to be returned at any time, so
+ * no more than {@code parallelism} worker documents are loaded. They are closed, and the iterator
+ * is released by its extractor, once the last page is returned or the iterator is closed. The
+ * fonts of the pages' text elements come from the worker documents, so PDFBox can't load any
+ * more of their data afterwards.
+ */
+class ParallelPageIterator extends PageIterator {
+
+    private final ObjectExtractor owner;
+    private final Iterator<Integer> pageNumbers;
+    private final ExecutorService executor;
+    private final Callable<PDDocument> documentLoader;
+    private final int parallelism;
+
+    private final Deque<PendingPage> pending = new ArrayDeque<>();
+    private final Queue<ObjectExtractor> idleExtractors = new ConcurrentLinkedQueue<>();
+    private final List<ObjectExtractor> workerExtractors = Collections.synchronizedList(new ArrayList<ObjectExtractor>());
+
+    // guards the two fields below, which keep close() from closing a document a worker is parsing
+    private final Object lock = new Object();
+    private int runningPages;
+    private boolean closed;
+
+    ParallelPageIterator(ObjectExtractor owner, Iterable<Integer> pages, ExecutorService executor,
+                         Callable<PDDocument> documentLoader, int parallelism) {
+        super(owner, pages);
+        this.owner = owner;
+        this.pageNumbers = pages.iterator();
+        this.executor = executor;
+        this.documentLoader = documentLoader;
+        this.parallelism = parallelism;
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    @Override
+    public boolean hasNext() {
+        return !pending.isEmpty() || pageNumbers.hasNext();
+    }
+
+    @Override
+    public Page next() {
+        if (!this.hasNext()) {
+            throw new IllegalStateException();
+        }
+        submitPending();
+        PendingPage head = pending.poll();
+        try {
+            Page nextPage = owner.bindPage(await(head), head.pageNumber);
+            // the returned page no longer counts against parallelism, so start the next one
+            submitPending();
+            return nextPage;
+        } finally {
+            if (!this.hasNext()) {
+                closeAfterLastPage();
+            }
+        }
+    }
+
+    /**
+     * Cancels the pages that haven't been parsed yet, waits for those being parsed and closes
+     * the worker documents. It doesn't wait for pages whose executor was shut down.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            closeWorkers();
+        } finally {
+            owner.release(this);
+        }
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    private static Page.Builder await(PendingPage page) {
+        try {
+            return page.builder.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    private void closeAfterLastPage() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeWorkers() throws IOException {
+        for (PendingPage page : pending) {
+            page.builder.cancel(false);
+        }
+        pending.clear();
+
+        synchronized (lock) {
+            closed = true;
+            while (runningPages > 0) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        IOException failure = null;
+        synchronized (workerExtractors) {
+            for (ObjectExtractor extractor : workerExtractors) {
+                try {
+                    extractor.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            workerExtractors.clear();
+        }
+        idleExtractors.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void submitPending() {
+        while (pending.size() < parallelism && pageNumbers.hasNext()) {
+            final int pageNumber = pageNumbers.next();
+            Future<Page.Builder> builder = executor.submit(new Callable<Page.Builder>() {
+                @Override
+                public Page.Builder call() throws Exception {
+                    synchronized (lock) {
+                        if (closed) {
+                            throw new CancellationException();
+                        }
+                        runningPages++;
+                    }
+                    try {
+                        ObjectExtractor extractor = borrowExtractor();
+                        try {
+                            return extractor.pageBuilder(pageNumber);
+                        } finally {
+                            idleExtractors.offer(extractor);
+                        }
+                    } finally {
+                        synchronized (lock) {
+                            runningPages--;
+                            lock.notifyAll();
+                        }
+                    }
+                }
+            });
+            pending.add(new PendingPage(pageNumber, builder));
+        }
+    }
+
+    private ObjectExtractor borrowExtractor() throws Exception {
+        ObjectExtractor extractor = idleExtractors.poll();
+        if (extractor == null) {
+            extractor = owner.withDocument(documentLoader.call());
+            workerExtractors.add(extractor);
+        }
+        return extractor;
+    }
+
+    private static final class PendingPage {
+        private final int pageNumber;
+        private final Future<Page.Builder> builder;
+
+        private PendingPage(int pageNumber, Future<Page.Builder> builder) {
+            this.pageNumber = pageNumber;
+            this.builder = builder;
+        }
+    }
+
+}
@@ -56,17 +56,21 @@ public final class QuickSort {
 		}
 	}
 
-	private static <T> void quicksort(List<T> list, Comparator<? super T> cmp) {
+	/**
+	 * Sorts {@code size} elements that are not held in a list, addressed by their index.
+	 * The elements end up in the same order {@link #sort(List, Comparator)} puts them in.
+	 */
+	static void sort(int size, IndexedSortable sortable) {
 		Stack<Integer> stack = new Stack<>();
 		stack.push(0);
-		stack.push(list.size());
+		stack.push(size);
 		while (!stack.isEmpty()) {
 			int right = stack.pop();
 			int left = stack.pop();
 			
 			if (right - left < 2) continue;
 			int p = left + ((right - left) / 2);
-			p = partition(list, cmp, p, left, right);
+			p = partition(sortable, p, left, right);
 
 			stack.push(p + 1);
 			stack.push(right);
@@ -76,20 +80,37 @@ public final class QuickSort {
 		}
 	}
 
-	private static <T> int partition(List<T> list, Comparator<? super T> cmp, int p, int start, int end) {
+	/**
+	 * Elements sorted by {@link #sort(int, IndexedSortable)}.
+	 */
+	interface IndexedSortable {
+		int compare(int i, int j);
+
+		void swap(int i, int j);
+	}
+
+	private static <T> void quicksort(final List<T> list, final Comparator<? super T> cmp) {
+		sort(list.size(), new IndexedSortable() {
+			@Override public int compare(int i, int j) { return cmp.compare(list.get(i), list.get(j)); }
+			@Override public void swap(int i, int j) { QuickSort.swap(list, i, j); }
+		});
+	}
+
+	private static int partition(IndexedSortable sortable, int p, int start, int end) {
 		int l = start;
 		int h = end - 2;
-		T piv = list.get(p);
-		swap(list, p, end - 1);
+		// the pivot is kept at end - 1 while partitioning
+		int piv = end - 1;
+		sortable.swap(p, piv);
 
 		while (l < h) {
-			     if (cmp.compare(list.get(l), piv) <= 0) l++;
-			else if (cmp.compare(piv, list.get(h)) <= 0) h--;
-			else                                         swap(list, l, h);
+			     if (sortable.compare(l, piv) <= 0) l++;
+			else if (sortable.compare(piv, h) <= 0) h--;
+			else                                    sortable.swap(l, h);
 		}
 		int idx = h;
-		if (cmp.compare(list.get(h), piv) < 0) idx++;
-		swap(list, end - 1, idx);
+		if (sortable.compare(h, piv) < 0) idx++;
+		sortable.swap(end - 1, idx);
 		return idx;
 	}
 
@@ -0,0 +1,168 @@
+package technology.tabula;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid over the bounds of a fixed set of rectangles, numbered {@code 0 .. count - 1}.
+ * Grid cells are twice the average size of the rectangles, and rectangles are kept in flat
+ * arrays, one row per cell, so a query allocates nothing but its result.
+ * <p>
+ * The grid is packed in a single pass over all rectangles and never changes afterwards, so
+ * any number of threads can query it without locking.
+ */
+final class RectangleGrid {
+
+    private static final double CELL_SIZE_TO_AVERAGE_SIZE = 2;
+    private static final int MAX_CELLS_PER_RECTANGLE = 4;
+
+    private static final int[] NONE = new int[0];
+
+    private final float[] left, top, right, bottom;
+    private final int count;
+
+    private final double minX, minY, cellWidth, cellHeight;
+    private final int columns, rows;
+
+    // the rectangles in cell c are cellRectangles[cellStart[c] .. cellStart[c + 1]), in ascending order
+    private final int[] cellStart;
+    private final int[] cellRectangles;
+    private final int[] firstColumn, firstRow;
+
+    /**
+     * Indexes the first {@code count} rectangles of the given bounds. The arrays are not copied.
+     */
+    RectangleGrid(float[] left, float[] top, float[] right, float[] bottom, int count) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+        this.count = count;
+
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, totalWidth = 0, totalHeight = 0;
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, left[i]);
+            minY = Math.min(minY, top[i]);
+            maxX = Math.max(maxX, right[i]);
+            maxY = Math.max(maxY, bottom[i]);
+            totalWidth += right[i] - left[i];
+            totalHeight += bottom[i] - top[i];
+        }
+
+        double cellWidth = Math.max(CELL_SIZE_TO_AVERAGE_SIZE * totalWidth / count, 1);
+        double cellHeight = Math.max(CELL_SIZE_TO_AVERAGE_SIZE * totalHeight / count, 1);
+        double cells = Math.ceil((maxX - minX) / cellWidth + 1) * Math.ceil((maxY - minY) / cellHeight + 1);
+        if (cells > (double) MAX_CELLS_PER_RECTANGLE * count) {
+            // few rectangles spread over a large area
+            double scale = Math.sqrt(cells / ((double) MAX_CELLS_PER_RECTANGLE * count));
+            cellWidth *= scale;
+            cellHeight *= scale;
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        if (count == 0 || Double.isNaN(cells) || Double.isInfinite(cells)) {
+            // no rectangles or not a usable extent, everything goes in one cell
+            this.columns = 1;
+            this.rows = 1;
+        } else {
+            this.columns = (int) Math.floor((maxX - minX) / cellWidth) + 1;
+            this.rows = (int) Math.floor((maxY - minY) / cellHeight) + 1;
+        }
+
+        this.firstColumn = new int[count];
+        this.firstRow = new int[count];
+        int[] lastColumn = new int[count], lastRow = new int[count];
+        this.cellStart = new int[columns * rows + 1];
+        for (int i = 0; i < count; i++) {
+            firstColumn[i] = column(left[i]);
+            firstRow[i] = row(top[i]);
+            lastColumn[i] = column(right[i]);
+            lastRow[i] = row(bottom[i]);
+            for (int row = firstRow[i]; row <= lastRow[i]; row++) {
+                for (int column = firstColumn[i]; column <= lastColumn[i]; column++) {
+                    cellStart[row * columns + column + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+
+        this.cellRectangles = new int[cellStart[columns * rows]];
+        int[] next = Arrays.copyOf(cellStart, columns * rows);
+        for (int i = 0; i < count; i++) {
+            for (int row = firstRow[i]; row <= lastRow[i]; row++) {
+                for (int column = firstColumn[i]; column <= lastColumn[i]; column++) {
+                    cellRectangles[next[row * columns + column]++] = i;
+                }
+            }
+        }
+    }
+
+    static <T extends Rectangle> RectangleGrid of(List<T> rectangles) {
+        int count = rectangles.size();
+        float[] left = new float[count], top = new float[count], right = new float[count], bottom = new float[count];
+        for (int i = 0; i < count; i++) {
+            T rectangle = rectangles.get(i);
+            left[i] = Math.min(rectangle.getLeft(), rectangle.getRight());
+            top[i] = Math.min(rectangle.getTop(), rectangle.getBottom());
+            right[i] = Math.max(rectangle.getLeft(), rectangle.getRight());
+            bottom[i] = Math.max(rectangle.getTop(), rectangle.getBottom());
+        }
+        return new RectangleGrid(left, top, right, bottom, count);
+    }
+
+    /**
+     * @return the numbers of the rectangles that touch or overlap {@code r}, in ascending order
+     */
+    int[] intersecting(Rectangle r) {
+        if (count == 0) {
+            return NONE;
+        }
+        double queryLeft = Math.min(r.getLeft(), r.getRight()), queryRight = Math.max(r.getLeft(), r.getRight());
+        double queryTop = Math.min(r.getTop(), r.getBottom()), queryBottom = Math.max(r.getTop(), r.getBottom());
+        int fromColumn = column(queryLeft), toColumn = column(queryRight);
+        int fromRow = row(queryTop), toRow = row(queryBottom);
+
+        int[] hits = new int[16];
+        int hitCount = 0;
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int rectangle = cellRectangles[i];
+                    // a rectangle spanning several cells is only reported by the first one the query covers
+                    if (Math.max(firstColumn[rectangle], fromColumn) != column || Math.max(firstRow[rectangle], fromRow) != row) {
+                        continue;
+                    }
+                    if (left[rectangle] <= queryRight && right[rectangle] >= queryLeft
+                            && top[rectangle] <= queryBottom && bottom[rectangle] >= queryTop) {
+                        if (hitCount == hits.length) {
+                            hits = Arrays.copyOf(hits, hitCount * 2);
+                        }
+                        hits[hitCount++] = rectangle;
+                    }
+                }
+            }
+        }
+
+        hits = Arrays.copyOf(hits, hitCount);
+        Arrays.sort(hits);
+        return hits;
+    }
+
+    // coordinates outside of the grid fall in its edge cells
+    private int column(double x) {
+        double column = Math.floor((x - minX) / cellWidth);
+        return column >= columns ? columns - 1 : column > 0 ? (int) column : 0;
+    }
+
+    private int row(double y) {
+        double row = Math.floor((y - minY) / cellHeight);
+        return row >= rows ? rows - 1 : row > 0 ? (int) row : 0;
+    }
+
+}
@@ -1,27 +1,34 @@
 package technology.tabula;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.index.strtree.STRtree;
 
-public class RectangleSpatialIndex<T extends Rectangle> {
-    
+/**
+ * A {@link SpatialIndex} backed by a JTS {@link STRtree}. The tree holds the rank of each
+ * rectangle in the order they were added.
+ */
+public class RectangleSpatialIndex<T extends Rectangle> implements SpatialIndex<T> {
 
     private final STRtree si = new STRtree();
     private final List<T> rectangles = new ArrayList<>();
 
+    @Override
     public void add(T te) {
+        si.insert(new Envelope(te.getLeft(), te.getRight(), te.getBottom(), te.getTop()), rectangles.size());
         rectangles.add(te);
-        si.insert(new Envelope(te.getLeft(), te.getRight(), te.getBottom(), te.getTop()), te);
     }
     
+    @Override
     public List<T> contains(Rectangle r) {
-        List<T> intersection = si.query(new Envelope(r.getLeft(), r.getRight(), r.getTop(), r.getBottom()));
+        List<Integer> intersection = query(r);
         List<T> rv = new ArrayList<T>();
 
-        for (T ir: intersection) {
+        for (int rank: intersection) {
+            T ir = rectangles.get(rank);
             if (r.contains(ir)) {
                 rv.add(ir);
             }
@@ -30,16 +37,49 @@ public class RectangleSpatialIndex<T extends Rectangle> {
         Utils.sort(rv, Rectangle.ILL_DEFINED_ORDER);
         return rv;
     }
+
+    @Override
+    public List<T> containsInOrder(Rectangle r) {
+        List<Integer> intersection = query(r);
+        int[] ranks = new int[intersection.size()];
+        int count = 0;
+
+        for (int rank: intersection) {
+            if (r.contains(rectangles.get(rank))) {
+                ranks[count++] = rank;
+            }
+        }
+
+        Arrays.sort(ranks, 0, count);
+        List<T> rv = new ArrayList<T>(count);
+        for (int i = 0; i < count; i++) {
+            rv.add(rectangles.get(ranks[i]));
+        }
+        return rv;
+    }
     
+    @Override
     public List<T> intersects(Rectangle r) {
-      return si.query(new Envelope(r.getLeft(), r.getRight(), r.getTop(), r.getBottom()));
+        List<Integer> intersection = query(r);
+        List<T> rv = new ArrayList<T>(intersection.size());
+        for (int rank: intersection) {
+            rv.add(rectangles.get(rank));
+        }
+        return rv;
     }
     
+    // the ranks of the rectangles whose envelopes intersect r's; the tree holds nothing else
+    @SuppressWarnings("unchecked")
+    private List<Integer> query(Rectangle r) {
+        return si.query(new Envelope(r.getLeft(), r.getRight(), r.getTop(), r.getBottom()));
+    }
+
     /**
      * Minimum bounding box of all the Rectangles contained on this RectangleSpatialIndex
      * 
      * @return a Rectangle
      */
+    @Override
     public Rectangle getBounds() {
         return Rectangle.boundingBoxOf(rectangles);
     }
@@ -19,6 +19,11 @@ public class Ruling extends Line2D.Float {
     private static int COLINEAR_OR_PARALLEL_PIXEL_EXPAND_AMOUNT = 1;
     private enum SOType { VERTICAL, HRIGHT, HLEFT }
 
+    // receives the intersections found by the sweep in findIntersections
+    private interface IntersectionSink {
+        void add(Point2D point, Ruling horizontal, Ruling vertical);
+    }
+
     public Ruling(float top, float left, float width, float height) {
         this(new Point2D.Float(left, top), new Point2D.Float(left+width, top+height));
     }
@@ -302,6 +307,42 @@ public class Ruling extends Line2D.Float {
     // log(n) implementation of find_intersections
     // based on http://people.csail.mit.edu/indyk/6.838-old/handouts/lec2.pdf
     public static Map<Point2D, Ruling[]> findIntersections(List<Ruling> horizontals, List<Ruling> verticals) {
+        final TreeMap<Point2D, Ruling[]> rv = new TreeMap<>(new Comparator<Point2D>() {
+            @Override
+            public int compare(Point2D o1, Point2D o2) {
+                if (o1.getY() > o2.getY()) return  1;
+                if (o1.getY() < o2.getY()) return -1;
+                if (o1.getX() > o2.getX()) return  1;
+                if (o1.getX() < o2.getX()) return -1;
+                return 0;
+            }
+        });
+        findIntersections(horizontals, verticals, new IntersectionSink() {
+            @Override
+            public void add(Point2D point, Ruling horizontal, Ruling vertical) {
+                rv.put(point, new Ruling[] { horizontal, vertical });
+            }
+        });
+        return rv;
+    }
+
+    /**
+     * Finds the same intersections as {@link #findIntersections(List, List)}, keyed by their
+     * coordinates in a primitive map instead of boxed points in a {@link TreeMap}.
+     */
+    public static RulingIntersections findRulingIntersections(List<Ruling> horizontals, List<Ruling> verticals) {
+        final RulingIntersections rv = new RulingIntersections();
+        findIntersections(horizontals, verticals, new IntersectionSink() {
+            @Override
+            public void add(Point2D point, Ruling horizontal, Ruling vertical) {
+                rv.put((float) point.getX(), (float) point.getY(), horizontal, vertical);
+            }
+        });
+        rv.finish();
+        return rv;
+    }
+
+    private static void findIntersections(List<Ruling> horizontals, List<Ruling> verticals, IntersectionSink sink) {
         
         class SortObject {
             protected SOType type;
@@ -323,17 +364,6 @@ public class Ruling extends Line2D.Float {
                 return java.lang.Double.compare(o1.getTop(), o2.getTop());
             }});
         
-        TreeMap<Point2D, Ruling[]> rv = new TreeMap<>(new Comparator<Point2D>() {
-            @Override
-            public int compare(Point2D o1, Point2D o2) {
-                if (o1.getY() > o2.getY()) return  1;
-                if (o1.getY() < o2.getY()) return -1;
-                if (o1.getX() > o2.getX()) return  1;
-                if (o1.getX() < o2.getX()) return -1;
-                return 0;
-            }
-        });
-        
         for (Ruling h : horizontals) {
             sos.add(new SortObject(SOType.HLEFT, h.getLeft() - PERPENDICULAR_PIXEL_EXPAND_AMOUNT, h));
             sos.add(new SortObject(SOType.HRIGHT, h.getRight() + PERPENDICULAR_PIXEL_EXPAND_AMOUNT, h));
@@ -379,9 +409,8 @@ public class Ruling extends Line2D.Float {
                     if (i == null) {
                         continue;
                     }
-                    rv.put(i, 
-                           new Ruling[] { h.getKey().expand(PERPENDICULAR_PIXEL_EXPAND_AMOUNT), 
-                                          so.ruling.expand(PERPENDICULAR_PIXEL_EXPAND_AMOUNT) });
+                    sink.add(i, h.getKey().expand(PERPENDICULAR_PIXEL_EXPAND_AMOUNT),
+                             so.ruling.expand(PERPENDICULAR_PIXEL_EXPAND_AMOUNT));
                 }
                 break;
             case HRIGHT:
@@ -392,9 +421,6 @@ public class Ruling extends Line2D.Float {
                 break;
             }
         }
-        
-        return rv;
-        
     }
 
     public static List<Ruling> collapseOrientedRulings(List<Ruling> lines) {
@@ -402,41 +428,6 @@ public class Ruling extends Line2D.Float {
     }
     
     public static List<Ruling> collapseOrientedRulings(List<Ruling> lines, int expandAmount) {
-        ArrayList<Ruling> rv = new ArrayList<>();
-        Collections.sort(lines, new Comparator<Ruling>() {
-            @Override
-            public int compare(Ruling a, Ruling b) {
-                final float diff = a.getPosition() - b.getPosition();
-                return java.lang.Float.compare(diff == 0 ? a.getStart() - b.getStart() : diff, 0f);
-            }
-        });
-
-        for (Ruling next_line : lines) {
-            Ruling last = rv.isEmpty() ? null : rv.get(rv.size() - 1);
-            // if current line colinear with next, and are "close enough": expand current line
-            if (last != null && Utils.feq(next_line.getPosition(), last.getPosition()) && last.nearlyIntersects(next_line, expandAmount)) {
-                final float lastStart = last.getStart();
-                final float lastEnd = last.getEnd();
-
-                final boolean lastFlipped = lastStart            > lastEnd;
-                final boolean nextFlipped = next_line.getStart() > next_line.getEnd();
-
-                boolean differentDirections = nextFlipped != lastFlipped;
-                float nextS = differentDirections ? next_line.getEnd()   : next_line.getStart();
-                float nextE = differentDirections ? next_line.getStart() : next_line.getEnd();
-
-                final float newStart = lastFlipped ? Math.max(nextS, lastStart) : Math.min(nextS, lastStart);
-                final float newEnd   = lastFlipped ? Math.min(nextE, lastEnd)   : Math.max(nextE, lastEnd);
-                last.setStartEnd(newStart, newEnd);
-                assert !last.oblique();
-            }
-            else if (next_line.length() == 0) {
-                continue;
-            }
-            else {
-                rv.add(next_line);
-            }
-        }
-        return rv;
+        return RulingCollapser.collapse(lines, expandAmount);
     }
 }
@@ -0,0 +1,232 @@
+package technology.tabula;
+
+import java.awt.geom.Line2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link Ruling#collapseOrientedRulings(List, int)} over primitive coordinate arrays.
+ * <p>
+ * Each ruling's coordinates and orientation are read once. Sorting, the colinear checks and merging
+ * work on the arrays, with the expanded rulings of {@link Ruling#nearlyIntersects(Ruling, int)} held
+ * in locals instead of cloned, and only the rulings that absorbed others are written back at the end.
+ * Rulings are sorted once, on packed primitive keys, by position, then start, then their place
+ * in the list, and then merged in a single pass.
+ */
+final class RulingCollapser {
+
+    private static final float PERPENDICULAR_PIXEL_EXPAND_AMOUNT = 2;
+
+    private final List<Ruling> lines;
+    private final Ruling[] rulings;
+    private final float[] x1, y1, x2, y2;
+
+    // the orientation of the rulings that aren't oblique, which merging doesn't change
+    private final boolean[] vertical;
+
+    // the coordinates of the last expanded rulings, as x1, y1, x2, y2
+    private final float[] expanded = new float[4];
+    private final float[] otherExpanded = new float[4];
+
+    private RulingCollapser(List<Ruling> lines) {
+        this.lines = lines;
+        this.rulings = lines.toArray(new Ruling[0]);
+        int count = rulings.length;
+        this.x1 = new float[count];
+        this.y1 = new float[count];
+        this.x2 = new float[count];
+        this.y2 = new float[count];
+        this.vertical = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            x1[i] = rulings[i].x1;
+            y1[i] = rulings[i].y1;
+            x2[i] = rulings[i].x2;
+            y2[i] = rulings[i].y2;
+            vertical[i] = vertical(x1[i], y1[i], x2[i], y2[i]);
+        }
+    }
+
+    /**
+     * Sorts {@code lines} by position, then start, merges colinear rulings that nearly intersect
+     * into the first of them, and drops rulings of length 0. Starts of -0 and 0 are equal.
+     *
+     * @return the remaining rulings
+     * @throws UnsupportedOperationException if a ruling of some length is neither horizontal nor vertical
+     */
+    static List<Ruling> collapse(List<Ruling> lines, int expandAmount) {
+        return new RulingCollapser(lines).collapse(expandAmount);
+    }
+
+    private List<Ruling> collapse(int expandAmount) {
+        final int count = rulings.length;
+        // the rulings to merge, in list order, then those of length 0
+        int[] rows = new int[count];
+        int merged = 0, dropped = count;
+        for (int i = 0; i < count; i++) {
+            if (vertical[i] || horizontal(x1[i], y1[i], x2[i], y2[i])) {
+                rows[merged++] = i;
+            } else if (length(x1[i], y1[i], x2[i], y2[i]) == 0) {
+                rows[--dropped] = i;
+            } else {
+                // Ruling#getPosition
+                throw new UnsupportedOperationException();
+            }
+        }
+        sortByPositionThenStart(rows, merged);
+        for (int k = 0; k < merged; k++) {
+            lines.set(k, rulings[rows[k]]);
+        }
+        // rows holds the rulings of length 0 backwards
+        for (int k = merged; k < count; k++) {
+            lines.set(k, rulings[rows[count - 1 - (k - merged)]]);
+        }
+
+        ArrayList<Ruling> rv = new ArrayList<>();
+        boolean[] changed = new boolean[count];
+        int last = -1;
+        for (int k = 0; k < merged; k++) {
+            int next = rows[k];
+            // if current line colinear with next, and are "close enough": expand current line
+            if (last >= 0 && Utils.feq(position(next), position(last)) && nearlyIntersects(last, next, expandAmount)) {
+                final float lastStart = start(last);
+                final float lastEnd = end(last);
+
+                final boolean lastFlipped = lastStart     > lastEnd;
+                final boolean nextFlipped = start(next) > end(next);
+
+                boolean differentDirections = nextFlipped != lastFlipped;
+                float nextS = differentDirections ? end(next)   : start(next);
+                float nextE = differentDirections ? start(next) : end(next);
+
+                final float newStart = lastFlipped ? Math.max(nextS, lastStart) : Math.min(nextS, lastStart);
+                final float newEnd   = lastFlipped ? Math.min(nextE, lastEnd)   : Math.max(nextE, lastEnd);
+                setStartEnd(last, newStart, newEnd);
+                changed[last] = true;
+            }
+            else {
+                rv.add(rulings[next]);
+                last = next;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (changed[i]) {
+                rulings[i].setLine(x1[i], y1[i], x2[i], y2[i]);
+            }
+        }
+        return rv;
+    }
+
+    // sorts rows[0 .. count), which are in list order, by position, then start; + 0f turns -0 into 0
+    private void sortByPositionThenStart(int[] rows, int count) {
+        long[] keys = new long[count];
+        for (int k = 0; k < count; k++) {
+            keys[k] = pack(sortable(start(rows[k]) + 0f), k);
+        }
+        Arrays.sort(keys);
+        // the rank of a start breaks ties by list order, so it stands for both in the position keys
+        int[] byStartRank = new int[count];
+        for (int rank = 0; rank < count; rank++) {
+            byStartRank[rank] = rows[(int) keys[rank]];
+            keys[rank] = pack(sortable(position(byStartRank[rank]) + 0f), rank);
+        }
+        Arrays.sort(keys);
+        for (int k = 0; k < count; k++) {
+            rows[k] = byStartRank[(int) keys[k]];
+        }
+    }
+
+    // the high half orders like the float, the low half is a non-negative int
+    private static long pack(int sortable, int low) {
+        return ((long) sortable << 32) | low;
+    }
+
+    private static int sortable(float f) {
+        int bits = Float.floatToIntBits(f);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    // Ruling's methods, on the arrays of rulings that aren't oblique
+
+    private float position(int i) {
+        return vertical[i] ? x1[i] : y1[i];
+    }
+
+    private float start(int i) {
+        return vertical[i] ? y1[i] : x1[i];
+    }
+
+    private float end(int i) {
+        return vertical[i] ? y2[i] : x2[i];
+    }
+
+    private void setStartEnd(int i, float start, float end) {
+        if (vertical[i]) {
+            y1[i] = start;
+            y2[i] = end;
+        }
+        else {
+            x1[i] = start;
+            x2[i] = end;
+        }
+    }
+
+    // Ruling#horizontal, for a ruling that isn't oblique and so has a length above 0, which merging keeps
+    private boolean horizontal(int i) {
+        return Utils.feq(y1[i], y2[i]);
+    }
+
+    // Ruling#nearlyIntersects, with i as this ruling
+    private boolean nearlyIntersects(int i, int another, int colinearOrParallelExpandAmount) {
+        if (intersectsLine(i, x1[another], y1[another], x2[another], y2[another])) {
+            return true;
+        }
+
+        if (vertical[i] == horizontal(another)) {
+            expand(i, PERPENDICULAR_PIXEL_EXPAND_AMOUNT, expanded);
+            return Line2D.linesIntersect(x1[another], y1[another], x2[another], y2[another],
+                    expanded[0], expanded[1], expanded[2], expanded[3]);
+        }
+        expand(i, colinearOrParallelExpandAmount, expanded);
+        expand(another, colinearOrParallelExpandAmount, otherExpanded);
+        return Line2D.linesIntersect(otherExpanded[0], otherExpanded[1], otherExpanded[2], otherExpanded[3],
+                expanded[0], expanded[1], expanded[2], expanded[3]);
+    }
+
+    // Line2D#intersectsLine, with i as this line
+    private boolean intersectsLine(int i, float otherX1, float otherY1, float otherX2, float otherY2) {
+        return Line2D.linesIntersect(otherX1, otherY1, otherX2, otherY2, x1[i], y1[i], x2[i], y2[i]);
+    }
+
+    // Ruling#expand: the start moves back and the end forward
+    private void expand(int i, float amount, float[] out) {
+        float ex1 = x1[i], ey1 = y1[i], ex2 = x2[i], ey2 = y2[i];
+        if (vertical[i]) {
+            ey1 = start(i) - amount;
+            ey2 = end(i) + amount;
+        }
+        else {
+            ex1 = start(i) - amount;
+            ex2 = end(i) + amount;
+        }
+        out[0] = ex1;
+        out[1] = ey1;
+        out[2] = ex2;
+        out[3] = ey2;
+    }
+
+    private static double length(float x1, float y1, float x2, float y2) {
+        return Math.sqrt(Math.pow(x1 - x2, 2) + Math.pow(y1 - y2, 2));
+    }
+
+    private static boolean vertical(float x1, float y1, float x2, float y2) {
+        return length(x1, y1, x2, y2) > 0 && Utils.feq(x1, x2);
+    }
+
+    private static boolean horizontal(float x1, float y1, float x2, float y2) {
+        return length(x1, y1, x2, y2) > 0 && Utils.feq(y1, y2);
+    }
+
+}
@@ -0,0 +1,344 @@
+package technology.tabula;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.pdfbox.contentstream.PDFStreamEngine;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+import static java.awt.geom.PathIterator.*;
+
+/**
+ * Builds the current path of a content stream and turns stroked or filled
+ * straight segments into {@link Ruling}s, in page coordinates.
+ * <p>
+ * Path coordinates are expected in device space, as produced by
+ * {@link PDFStreamEngine#transformedPoint(float, float)}.
+ * <p>
+ * Segments that can't become rulings are dropped before any objects are created for them:
+ * paths with curves and segments too short to be rulings. Oblique segments become rulings
+ * too, whose endpoints take part in {@link Utils#snapPoints}, unless the collector is told to
+ * drop them as well. {@link #getDroppedSegments(SegmentFilter)} counts the segments dropped
+ * by each of these filters, and by the clipping path.
+ */
+class RulingCollector {
+
+    /**
+     * The filters a painted segment has to pass to become a {@link Ruling}, in order.
+     */
+    enum SegmentFilter {
+        /** The segment is part of a path with curves. */
+        CURVED_PATH,
+        /** The segment isn't longer than the minimum length of a ruling. */
+        TOO_SHORT,
+        /** The segment isn't (nearly) horizontal or vertical, when oblique segments are dropped. */
+        OBLIQUE,
+        /** The segment is outside of the clipping path, or too short once clipped. */
+        CLIPPED
+    }
+
+    private final PDFStreamEngine engine;
+    private final List<Ruling> rulings = new ArrayList<>();
+    private final AffineTransform pageTransform;
+    private boolean extractRulingLines = true;
+    private final boolean dropObliqueSegments;
+    private int clipWindingRule = -1;
+    private GeneralPath currentPath = new GeneralPath();
+    private boolean currentPathHasCurves;
+    private int currentPathSegments;
+    private final int[] droppedSegments = new int[SegmentFilter.values().length];
+
+    private static final float RULING_MINIMUM_LENGTH = 0.01f;
+
+    RulingCollector(PDFStreamEngine engine, PDPage page) {
+        this(engine, page, false);
+    }
+
+    /**
+     * @param dropObliqueSegments don't turn segments that are neither (nearly) horizontal nor
+     *                            vertical into rulings
+     */
+    RulingCollector(PDFStreamEngine engine, PDPage page, boolean dropObliqueSegments) {
+        this.engine = engine;
+        this.pageTransform = pageTransform(page);
+        this.dropObliqueSegments = dropObliqueSegments;
+    }
+
+    static AffineTransform pageTransform(PDPage page) {
+        AffineTransform pageTransform = new AffineTransform();
+        PDRectangle pageCropBox = page.getCropBox();
+        int rotationAngleInDegrees = page.getRotation();
+
+        if (Math.abs(rotationAngleInDegrees) == 90 || Math.abs(rotationAngleInDegrees) == 270) {
+            double rotationAngleInRadians = rotationAngleInDegrees * (Math.PI / 180.0);
+            pageTransform = AffineTransform.getRotateInstance(rotationAngleInRadians, 0, 0);
+        } else {
+            double deltaX = 0;
+            double deltaY = pageCropBox.getHeight();
+            pageTransform.concatenate(AffineTransform.getTranslateInstance(deltaX, deltaY));
+        }
+
+        pageTransform.concatenate(AffineTransform.getScaleInstance(1, -1));
+        pageTransform.translate(-pageCropBox.getLowerLeftX(), -pageCropBox.getLowerLeftY());
+        return pageTransform;
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    void appendRectangle(Point2D p0, Point2D p1, Point2D p2, Point2D p3) {
+        currentPath.moveTo((float) p0.getX(), (float) p0.getY());
+        currentPath.lineTo((float) p1.getX(), (float) p1.getY());
+        currentPath.lineTo((float) p2.getX(), (float) p2.getY());
+        currentPath.lineTo((float) p3.getX(), (float) p3.getY());
+        currentPath.closePath();
+        currentPathSegments += 4;
+    }
+
+    void clip(int windingRule) {
+        // The clipping path will not be updated until the succeeding painting
+        // operator is called.
+        clipWindingRule = windingRule;
+    }
+
+    void closePath() {
+        currentPath.closePath();
+        currentPathSegments++;
+    }
+
+    void curveTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+        currentPath.curveTo(x1, y1, x2, y2, x3, y3);
+        currentPathHasCurves = true;
+        currentPathSegments++;
+    }
+
+    void endPath() {
+        if (clipWindingRule != -1) {
+            currentPath.setWindingRule(clipWindingRule);
+            engine.getGraphicsState().intersectClippingPath(currentPath);
+            clipWindingRule = -1;
+        }
+        resetPath();
+    }
+
+    Point2D getCurrentPoint() {
+        return currentPath.getCurrentPoint();
+    }
+
+    void lineTo(float x, float y) {
+        currentPath.lineTo(x, y);
+        currentPathSegments++;
+    }
+
+    void moveTo(float x, float y) {
+        currentPath.moveTo(x, y);
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    void strokeOrFillPath(boolean isFill) {
+        if (!extractRulingLines) {
+            resetPath();
+            return;
+        }
+
+        boolean didNotPassedTheFilter = filterPathBySegmentType();
+        if (didNotPassedTheFilter) return;
+
+        // TODO: how to implement color filter?
+
+        // Skip the first path operation and save it as the starting point.
+        PathIterator pathIterator = currentPath.getPathIterator(getPageTransform());
+
+        float[] coordinates = new float[6];
+        int currentSegment;
+
+        // points are kept as coordinates, so that dropped segments don't create any objects
+        pathIterator.currentSegment(coordinates);
+        float startX = Utils.round(coordinates[0], 2);
+        float startY = Utils.round(coordinates[1], 2);
+        boolean hasStart = true;
+        float lastMoveX = startX, lastMoveY = startY;
+        float endX = 0, endY = 0;
+        boolean hasEnd = false;
+        PointComparator pointComparator = new PointComparator();
+        // the graphics state doesn't change while the path is painted
+        Rectangle2D clippingPath = null;
+
+        while (!pathIterator.isDone()) {
+            pathIterator.next();
+            // This can be the last segment, when pathIterator.isDone, but we need to
+            // process it otherwise us-017.pdf fails the last value.
+            try {
+                currentSegment = pathIterator.currentSegment(coordinates);
+            } catch (IndexOutOfBoundsException ex) {
+                continue;
+            }
+            boolean isSegment = false;
+            float fromX = 0, fromY = 0, toX = 0, toY = 0;
+            switch (currentSegment) {
+                case SEG_LINETO:
+                    endX = coordinates[0];
+                    endY = coordinates[1];
+                    hasEnd = true;
+                    if (!hasStart) {
+                        break;
+                    }
+                    isSegment = true;
+                    fromX = startX;
+                    fromY = startY;
+                    toX = endX;
+                    toY = endY;
+                    break;
+                case SEG_MOVETO:
+                    lastMoveX = endX = coordinates[0];
+                    lastMoveY = endY = coordinates[1];
+                    hasEnd = true;
+                    break;
+                case SEG_CLOSE:
+                    // According to PathIterator docs:
+                    // "The preceding sub-path should be closed by appending a line
+                    // segment back to the point corresponding to the most recent
+                    // SEG_MOVETO."
+                    if (!hasStart || !hasEnd) {
+                        break;
+                    }
+                    isSegment = true;
+                    fromX = endX;
+                    fromY = endY;
+                    toX = lastMoveX;
+                    toY = lastMoveY;
+                    break;
+            }
+            if (isSegment && passesSegmentFilters(fromX, fromY, toX, toY)) {
+                if (clippingPath == null) {
+                    clippingPath = currentClippingPath();
+                }
+                Line2D.Float line = getLineBetween(new Point2D.Float(fromX, fromY), new Point2D.Float(toX, toY), pointComparator);
+                verifyLineIntersectsClipping(line, clippingPath);
+            }
+            startX = endX;
+            startY = endY;
+            hasStart = hasEnd;
+        }
+        resetPath();
+    }
+
+    private boolean filterPathBySegmentType() {
+        // curves are only added by curveTo, so a path without them has nothing but lines
+        if (currentPathHasCurves) {
+            droppedSegments[SegmentFilter.CURVED_PATH.ordinal()] += currentPathSegments;
+            resetPath();
+            return true;
+        }
+        PathIterator pathIterator = currentPath.getPathIterator(pageTransform);
+        float[] coordinates = new float[6];
+        int currentSegmentType = pathIterator.currentSegment(coordinates);
+        if (currentSegmentType != SEG_MOVETO) {
+            resetPath();
+            return true;
+        }
+        return false;
+    }
+
+    // Whether the segment from a to b can become a ruling: it must be longer than a ruling's
+    // minimum length, which clipping can only shorten, and, if asked, not oblique once normalized.
+    // Which end a ruling starts at depends on rounding, so only segments that are oblique either
+    // way round are dropped.
+    private boolean passesSegmentFilters(float ax, float ay, float bx, float by) {
+        if (Math.sqrt(Math.pow(ax - bx, 2) + Math.pow(ay - by, 2)) <= RULING_MINIMUM_LENGTH) {
+            droppedSegments[SegmentFilter.TOO_SHORT.ordinal()]++;
+            return false;
+        }
+        if (dropObliqueSegments && !Utils.feq(ax, bx) && !Utils.feq(ay, by)
+                && !nearlyAxisAligned(ax, ay, bx, by) && !nearlyAxisAligned(bx, by, ax, ay)) {
+            droppedSegments[SegmentFilter.OBLIQUE.ordinal()]++;
+            return false;
+        }
+        return true;
+    }
+
+    // Ruling#normalize's test, for a ruling from a to b
+    private static boolean nearlyAxisAligned(float ax, float ay, float bx, float by) {
+        double angle = Math.toDegrees(Math.atan2((double) by - ay, (double) bx - ax));
+        if (angle < 0) {
+            angle += 360;
+        }
+        return Utils.within(angle, 0, 1) || Utils.within(angle, 180, 1)
+                || Utils.within(angle, 90, 1) || Utils.within(angle, 270, 1);
+    }
+
+    private void resetPath() {
+        currentPath.reset();
+        currentPathHasCurves = false;
+        currentPathSegments = 0;
+    }
+
+    private Line2D.Float getLineBetween(Point2D.Float pointA, Point2D.Float pointB, PointComparator pointComparator) {
+        if (pointComparator.compare(pointA, pointB) == -1) {
+            return new Line2D.Float(pointA, pointB);
+        }
+        return new Line2D.Float(pointB, pointA);
+    }
+
+    private void verifyLineIntersectsClipping(Line2D.Float line, Rectangle2D currentClippingPath) {
+        if (line.intersects(currentClippingPath)) {
+            Ruling ruling = new Ruling(line.getP1(), line.getP2()).intersect(currentClippingPath);
+            if (ruling.length() > RULING_MINIMUM_LENGTH) {
+                rulings.add(ruling);
+                return;
+            }
+        }
+        droppedSegments[SegmentFilter.CLIPPED.ordinal()]++;
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    List<Ruling> getRulings() {
+        return rulings;
+    }
+
+    /**
+     * @return how many painted segments {@code filter} has dropped so far
+     */
+    int getDroppedSegments(SegmentFilter filter) {
+        return droppedSegments[filter.ordinal()];
+    }
+
+    AffineTransform getPageTransform() {
+        return pageTransform;
+    }
+
+    Rectangle2D currentClippingPath() {
+        Shape currentClippingPath = engine.getGraphicsState().getCurrentClippingPath();
+        Shape transformedClippingPath = getPageTransform().createTransformedShape(currentClippingPath);
+        return transformedClippingPath.getBounds2D();
+    }
+
+    // TODO: repeated in SpreadsheetExtractionAlgorithm.
+    static class PointComparator implements Comparator<Point2D> {
+        @Override
+        public int compare(Point2D p1, Point2D p2) {
+            float p1X = Utils.round(p1.getX(), 2);
+            float p1Y = Utils.round(p1.getY(), 2);
+            float p2X = Utils.round(p2.getX(), 2);
+            float p2Y = Utils.round(p2.getY(), 2);
+
+            if (p1Y > p2Y)
+                return 1;
+            if (p1Y < p2Y)
+                return -1;
+            if (p1X > p2X)
+                return 1;
+            if (p1X < p2X)
+                return -1;
+            return 0;
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+package technology.tabula;
+
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+
+/**
+ * The points where horizontal and vertical rulings cross, as found by
+ * {@link Ruling#findRulingIntersections(java.util.List, java.util.List)}, with the two
+ * (expanded) rulings that cross at each point.
+ * <p>
+ * Intersections are numbered {@code 0 .. size() - 1} by y, then x, the order of
+ * {@link Ruling#findIntersections(java.util.List, java.util.List)}. Each coordinate pair
+ * is packed into a {@code long} key of a primitive hash map, and the intersections of a
+ * row or a column are chained, so nothing is boxed and no comparator is involved.
+ */
+public final class RulingIntersections {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private int size;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Ruling[] horizontal = new Ruling[INITIAL_CAPACITY];
+    private Ruling[] vertical = new Ruling[INITIAL_CAPACITY];
+
+    // open addressing: slots hold an intersection's number + 1, 0 marks a free slot
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+    // filled once all intersections are added
+    private int[] nextInRow, nextInColumn;
+
+    RulingIntersections() {
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+
+    /**
+     * Adds an intersection, or replaces the rulings of the one already at {@code (x, y)}.
+     * Points with a NaN coordinate are dropped, as they equal no other point.
+     */
+    void put(float x, float y, Ruling horizontal, Ruling vertical) {
+        if (Float.isNaN(x) || Float.isNaN(y)) {
+            return;
+        }
+        long key = key(x, y);
+        int slot = slotOf(key);
+        if (slots[slot] != 0) {
+            this.horizontal[slots[slot] - 1] = horizontal;
+            this.vertical[slots[slot] - 1] = vertical;
+            return;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            this.horizontal = Arrays.copyOf(this.horizontal, size * 2);
+            this.vertical = Arrays.copyOf(this.vertical, size * 2);
+        }
+        keys[size] = key;
+        this.horizontal[size] = horizontal;
+        this.vertical[size] = vertical;
+        slots[slot] = ++size;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+    }
+
+    /**
+     * Numbers the intersections by y, then x, and chains rows and columns. Called once,
+     * after the last {@link #put}.
+     */
+    void finish() {
+        long[] sortedKeys = Arrays.copyOf(keys, size);
+        Arrays.sort(sortedKeys);
+        Ruling[] sortedHorizontal = new Ruling[size], sortedVertical = new Ruling[size];
+        for (int i = 0; i < size; i++) {
+            int previous = slots[slotOf(sortedKeys[i])] - 1;
+            sortedHorizontal[i] = horizontal[previous];
+            sortedVertical[i] = vertical[previous];
+        }
+        keys = sortedKeys;
+        horizontal = sortedHorizontal;
+        vertical = sortedVertical;
+        rehash(slots.length);
+
+        nextInRow = new int[size];
+        for (int i = 0; i < size; i++) {
+            nextInRow[i] = i + 1 < size && sortableY(keys[i + 1]) == sortableY(keys[i]) ? i + 1 : -1;
+        }
+
+        // the same keys with x and y swapped sort by column
+        long[] columnKeys = new long[size];
+        for (int i = 0; i < size; i++) {
+            columnKeys[i] = pack(sortableX(keys[i]), sortableY(keys[i]));
+        }
+        Arrays.sort(columnKeys);
+        nextInColumn = new int[size];
+        int previous = -1;
+        for (long columnKey : columnKeys) {
+            int i = slots[slotOf(pack(sortableX(columnKey), sortableY(columnKey)))] - 1;
+            if (previous >= 0) {
+                nextInColumn[previous] = sortableX(keys[previous]) == sortableX(keys[i]) ? i : -1;
+            }
+            previous = i;
+        }
+        if (previous >= 0) {
+            nextInColumn[previous] = -1;
+        }
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    public int size() {
+        return size;
+    }
+
+    public float getX(int i) {
+        return toFloat(sortableX(keys[i]));
+    }
+
+    public float getY(int i) {
+        return toFloat(sortableY(keys[i]));
+    }
+
+    /**
+     * @return a new point at intersection {@code i}
+     */
+    public Point2D getPoint(int i) {
+        return new Point2D.Float(getX(i), getY(i));
+    }
+
+    public Ruling getHorizontal(int i) {
+        return horizontal[i];
+    }
+
+    public Ruling getVertical(int i) {
+        return vertical[i];
+    }
+
+    /**
+     * @return the number of the intersection at {@code (x, y)}, or -1 if there is none
+     */
+    public int indexOf(float x, float y) {
+        if (Float.isNaN(x) || Float.isNaN(y)) {
+            return -1;
+        }
+        return slots[slotOf(key(x, y))] - 1;
+    }
+
+    /**
+     * @return the next intersection to the right of {@code i} with the same y, or -1
+     */
+    public int nextInRow(int i) {
+        return nextInRow[i];
+    }
+
+    /**
+     * @return the next intersection below {@code i} with the same x, or -1
+     */
+    public int nextInColumn(int i) {
+        return nextInColumn[i];
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+
+    // y in the high half and x in the low half, both as ints that order like the floats,
+    // so that keys sort by y, then x. Adding 0 turns -0 into 0, which it is compared equal to.
+    private static long key(float x, float y) {
+        return pack(sortable(y + 0f), sortable(x + 0f));
+    }
+
+    // the low half has its sign bit flipped, so that it sorts as an unsigned int
+    private static long pack(int high, int low) {
+        return ((long) high << 32) | ((low & 0xFFFFFFFFL) ^ 0x80000000L);
+    }
+
+    private static int sortable(float f) {
+        int bits = Float.floatToIntBits(f);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+
+    private static float toFloat(int sortable) {
+        return Float.intBitsToFloat(sortable ^ ((sortable >> 31) & 0x7FFFFFFF));
+    }
+
+    private static int sortableY(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int sortableX(long key) {
+        return (int) key ^ 0x80000000;
+    }
+
+    // the slot of key, or the free slot where it would go
+    private int slotOf(long key) {
+        int mask = slots.length - 1;
+        int slot = (int) ((key * HASH_MULTIPLIER) >>> 32) & mask;
+        while (slots[slot] != 0 && keys[slots[slot] - 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            slots[slotOf(keys[i])] = i + 1;
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package technology.tabula;
+
+import java.util.List;
+
+/**
+ * An index of rectangles that answers area queries.
+ *
+ * @see RectangleSpatialIndex
+ * @see GridSpatialIndex
+ */
+public interface SpatialIndex<T extends Rectangle> {
+
+    void add(T rectangle);
+
+    /**
+     * @return the rectangles completely inside of {@code r}, sorted by {@link Rectangle#ILL_DEFINED_ORDER}
+     */
+    List<T> contains(Rectangle r);
+
+    /**
+     * @return the rectangles completely inside of {@code r}, in the order they were added.
+     * Unlike {@link #contains(Rectangle)} this needs no comparison sort; for an index filled in
+     * reading order it returns them in reading order.
+     */
+    List<T> containsInOrder(Rectangle r);
+
+    /**
+     * @return the rectangles that touch or overlap {@code r}, in no particular order
+     */
+    List<T> intersects(Rectangle r);
+
+    /**
+     * @return the minimum bounding box of all the rectangles in this index
+     */
+    Rectangle getBounds();
+
+}
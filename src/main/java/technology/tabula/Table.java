@@ -1,8 +1,9 @@
 package technology.tabula;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.TreeMap;
 
 import technology.tabula.extractors.ExtractionAlgorithm;
 
@@ -25,7 +26,7 @@ public class Table extends Rectangle {
 	private int colCount = 0;
 	private int pageNumber = 0;
 
-	/* visible for testing */ final TreeMap<CellPosition, RectangularTextContainer> cells = new TreeMap<>();
+	/* visible for testing */ final TableCells cells = new TableCells();
 
 	public int getRowCount() { return rowCount; }
 	public int getColCount() { return colCount; }
@@ -34,19 +35,31 @@ public class Table extends Rectangle {
 
 	public String getExtractionMethod() { return extractionMethod; }
 
+	/**
+	 * Adds {@code chunk} at {@code (row, col)}, merged with the cell that is already there.
+	 *
+	 * @throws IndexOutOfBoundsException if {@code row} or {@code col} is negative
+	 */
 	public void add(RectangularTextContainer chunk, int row, int col) {
+		if (row < 0 || col < 0) {
+			throw new IndexOutOfBoundsException("Cell position: " + row + ", " + col);
+		}
 		this.merge(chunk);
 		
+		boolean sameShape = row < rowCount && col < colCount;
 		rowCount = Math.max(rowCount, row + 1);
 		colCount = Math.max(colCount, col + 1);
 		
-		CellPosition cp = new CellPosition(row, col);
-		
-		RectangularTextContainer old = cells.get(cp);
+		RectangularTextContainer old = cells.get(row, col);
 		if (old != null) chunk.merge(old);
-		cells.put(cp, chunk);
+		cells.put(row, col, chunk);
 
-		this.memoizedRows = null;
+		// the rows only need to be built again when there are more of them, or longer ones
+		if (sameShape && this.memoizedRows != null) {
+			this.memoizedRows.get(row).set(col, chunk);
+		} else {
+			this.memoizedRows = null;
+		}
 	}
 
 	private List<List<RectangularTextContainer>> memoizedRows = null;
@@ -59,10 +72,10 @@ public class Table extends Rectangle {
 	private List<List<RectangularTextContainer>> computeRows() {
 		List<List<RectangularTextContainer>> rows = new ArrayList<>();
 		for (int i = 0; i < rowCount; i++) {
-			List<RectangularTextContainer> lastRow = new ArrayList<>();
+			List<RectangularTextContainer> lastRow = new ArrayList<>(colCount);
 			rows.add(lastRow);
 			for (int j = 0; j < colCount; j++) {
-				RectangularTextContainer cell = cells.get(new CellPosition(i,j)); // JAVA_8 use getOrDefault()
+				RectangularTextContainer cell = cells.get(i, j);
 				lastRow.add(cell != null ? cell : TextChunk.EMPTY);
 			}
 		}
@@ -70,36 +83,143 @@ public class Table extends Rectangle {
 	}
 	
 	public RectangularTextContainer getCell(int i, int j) {
-		RectangularTextContainer cell = cells.get(new CellPosition(i,j)); // JAVA_8 use getOrDefault()
+		RectangularTextContainer cell = cells.get(i, j);
 		return cell != null ? cell : TextChunk.EMPTY;
 	}
 
-}
+	/**
+	 * @return a cursor over the rows of {@link #getRows()}, which reads them one at a time
+	 * instead of building them all
+	 */
+	public RowCursor rowCursor() {
+		return new RowCursor(true);
+	}
+
+	/**
+	 * @param padded fill the cells a row doesn't have with {@link TextChunk#EMPTY}, as
+	 *               {@link #getRows()} does, or leave them out
+	 */
+	public RowCursor rowCursor(boolean padded) {
+		return new RowCursor(padded);
+	}
 
-class CellPosition implements Comparable<CellPosition> {
+	/**
+	 * Reads the rows of a {@link Table} one at a time, from top to bottom, into a single row
+	 * buffer that is reused for every row. Rows read this way aren't memoized, so exporting a
+	 * table never holds more than one of its rows.
+	 */
+	public final class RowCursor {
+
+		private final boolean padded;
+		private final List<RectangularTextContainer<?>> buffer = new ArrayList<>();
+		private final List<RectangularTextContainer<?>> cellsView = Collections.unmodifiableList(buffer);
+		private int[] columns = new int[0];
+		private int row = -1;
+
+		private RowCursor(boolean padded) {
+			this.padded = padded;
+		}
+
+		/**
+		 * Moves to the next row.
+		 *
+		 * @return false if there are no more rows
+		 */
+		public boolean next() {
+			buffer.clear();
+			if (row >= rowCount) return false;
+			if (++row >= rowCount) return false;
+
+			if (columns.length < colCount) columns = new int[colCount];
+			for (int j = 0; j < colCount; j++) {
+				RectangularTextContainer<?> cell = cells.get(row, j);
+				if (cell == null && !padded) continue;
+				columns[buffer.size()] = j;
+				buffer.add(cell != null ? cell : TextChunk.EMPTY);
+			}
+			return true;
+		}
+
+		/**
+		 * @return the index of the current row
+		 */
+		public int getRow() {
+			if (row < 0 || row >= rowCount) {
+				throw new IllegalStateException("No current row.");
+			}
+			return row;
+		}
+
+		/**
+		 * @return the cells of the current row, by column, in a read-only list that the next
+		 * call to {@link #next()} overwrites
+		 */
+		public List<RectangularTextContainer<?>> getCells() {
+			getRow();
+			return cellsView;
+		}
+
+		/**
+		 * @return the column of the {@code i}-th cell of {@link #getCells()}, which is {@code i}
+		 * unless the cursor skips missing cells
+		 */
+		public int getColumn(int i) {
+			if (i < 0 || i >= buffer.size()) {
+				throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + buffer.size());
+			}
+			return columns[i];
+		}
 
-	CellPosition(int row, int col) {
-		this.row = row;
-		this.col = col;
 	}
 
-	final int row, col;
+}
+
+/**
+ * The cells of a {@link Table}, in one array per row that grows with the highest column added
+ * to that row. Cells are stored and read by position without allocating.
+ */
+class TableCells {
 
-	@Override public int hashCode() {
-		return row + 101 * col;
+	private static final RectangularTextContainer<?>[] NO_CELLS = new RectangularTextContainer<?>[0];
+
+	private RectangularTextContainer<?>[][] rows = new RectangularTextContainer<?>[0][];
+
+	/**
+	 * @return the cell at {@code (row, col)}, or null if there is none
+	 */
+	RectangularTextContainer<?> get(int row, int col) {
+		if (row < 0 || row >= rows.length || col < 0) return null;
+		RectangularTextContainer<?>[] cells = rows[row];
+		return col < cells.length ? cells[col] : null;
 	}
 
-	@Override public boolean equals(Object obj) {
-		if (this == obj) return true;
-		if (obj == null) return false;
-		if (getClass() != obj.getClass()) return false;
-		CellPosition other = (CellPosition) obj;
-		return row == other.row && col == other.col;
+	void put(int row, int col, RectangularTextContainer<?> cell) {
+		if (row < 0 || col < 0) {
+			throw new IndexOutOfBoundsException("Cell position: " + row + ", " + col);
+		}
+		if (row >= rows.length) {
+			int length = rows.length;
+			rows = Arrays.copyOf(rows, Math.max(row + 1, length * 2));
+			Arrays.fill(rows, length, rows.length, NO_CELLS);
+		}
+		RectangularTextContainer<?>[] cells = rows[row];
+		if (col >= cells.length) {
+			cells = rows[row] = Arrays.copyOf(cells, Math.max(col + 1, cells.length * 2));
+		}
+		cells[col] = cell;
 	}
 
-	@Override public int compareTo(CellPosition other) {
-		int rowdiff = row - other.row;
-		return rowdiff != 0 ? rowdiff : col - other.col;
+	/**
+	 * @return the cells there are, by row, then column
+	 */
+	List<RectangularTextContainer<?>> values() {
+		List<RectangularTextContainer<?>> values = new ArrayList<>();
+		for (RectangularTextContainer<?>[] cells : rows) {
+			for (RectangularTextContainer<?> cell : cells) {
+				if (cell != null) values.add(cell);
+			}
+		}
+		return values;
 	}
 
 }
@@ -1,6 +1,7 @@
 package technology.tabula;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -12,7 +13,6 @@ import technology.tabula.extractors.ExtractionAlgorithm;
 public class TableWithRulingLines extends Table {
 
     List<Ruling> verticalRulings, horizontalRulings;
-    RectangleSpatialIndex<Cell> si = new RectangleSpatialIndex<>();
     
     public TableWithRulingLines(Rectangle area, List<Cell> cells, List<Ruling> horizontalRulings, List<Ruling> verticalRulings, ExtractionAlgorithm extractionAlgorithm, int pageNumber) {
         super(extractionAlgorithm);
@@ -29,30 +29,146 @@ public class TableWithRulingLines extends Table {
             return;
         } 
         
-        for (Cell ce: cells) {
-            si.add(ce);
-        }
-        
         List<List<Cell>> rowsOfCells = rowsOfCells(cells);
+        int[] startColumns = startColumns(rowsOfCells, Rectangle.boundingBoxOf(cells));
         for (int i = 0; i < rowsOfCells.size(); i++) {
             List<Cell> row = rowsOfCells.get(i);
             Iterator<Cell> rowCells = row.iterator();
-            Cell cell = rowCells.next();
-            List<List<Cell>> others = rowsOfCells(
-                    si.contains(
-                            new Rectangle(cell.getBottom(), si.getBounds().getLeft(), cell.getLeft() - si.getBounds().getLeft(), 
-                                    si.getBounds().getBottom() - cell.getBottom())
-                            ));
-            int startColumn = 0;
-            for (List<Cell> r: others) {
-                startColumn = Math.max(startColumn, r.size());
-            }
-            this.add(cell, i, startColumn++);
+            int startColumn = startColumns[i];
+            this.add(rowCells.next(), i, startColumn++);
             while (rowCells.hasNext()) {
                 this.add(rowCells.next(), i, startColumn++);
             }
         }
     }
+
+    /**
+     * The column of the first cell of each row: the most cells that one row has below that cell
+     * and entirely to the left of it, all of them inside of {@code bounds}.
+     * <p>
+     * When the cells of each row have the very same top, as lattice cells do, the cells below a
+     * cell group into the rows they belong to. A row has at least k cells left of x when its k-th
+     * right edge is at most x, so for a set of rows the count is a binary search in the lowest
+     * k-th right edge of any of them. The rows are swept once, bottom up, adding each row's right
+     * edges as the queries reach it, which takes O(n + r log r) for n cells in r rows. Otherwise,
+     * or when a cell might reach below a query, the cells below are grouped again for every row.
+     */
+    private static int[] startColumns(List<List<Cell>> rowsOfCells, Rectangle bounds) {
+        int[] startColumns = new int[rowsOfCells.size()];
+        int rowCount = rowsOfCells.size();
+
+        float[] tops = new float[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            tops[r] = rowsOfCells.get(r).get(0).getTop();
+            for (Cell cell : rowsOfCells.get(r)) {
+                if (!(cell.getTop() == tops[r])) {
+                    return startColumnsByRegrouping(rowsOfCells, bounds);
+                }
+            }
+        }
+
+        // the sorted right edges of the cells that can be inside a query
+        double[][] rights = new double[rowCount][];
+        double maxBottom = java.lang.Double.NEGATIVE_INFINITY;
+        int widestRow = 0;
+        for (int r = 0; r < rowCount; r++) {
+            List<Cell> row = rowsOfCells.get(r);
+            double[] rowRights = new double[row.size()];
+            int count = 0;
+            for (Cell cell : row) {
+                if (cell.getWidth() > 0 && cell.getHeight() > 0 && cell.getX() >= bounds.getLeft()) {
+                    rowRights[count++] = cell.getX() + cell.getWidth();
+                    maxBottom = Math.max(maxBottom, cell.getY() + cell.getHeight());
+                }
+            }
+            rights[r] = Arrays.copyOf(rowRights, count);
+            Arrays.sort(rights[r]);
+            widestRow = Math.max(widestRow, count);
+        }
+
+        // the queries that aren't empty, by top edge; Rectangle2D#contains, in the same arithmetic
+        float[] queryTops = new float[rowCount];
+        double[] queryRights = new double[rowCount];
+        long[] byQueryTop = new long[rowCount];
+        int queryCount = 0;
+        for (int i = 0; i < rowCount; i++) {
+            Rectangle query = below(rowsOfCells.get(i).get(0), bounds);
+            if (query.isEmpty()) {
+                continue;
+            }
+            if (!(maxBottom <= query.getY() + query.getHeight())) {
+                return startColumnsByRegrouping(rowsOfCells, bounds);
+            }
+            queryTops[i] = query.y;
+            queryRights[i] = query.getX() + query.getWidth();
+            byQueryTop[queryCount++] = ((long) sortable(queryTops[i]) << 32) | i;
+        }
+        Arrays.sort(byQueryTop, 0, queryCount);
+
+        // lowestRights[k]: the lowest (k + 1)-th right edge of the rows swept so far
+        double[] lowestRights = new double[widestRow];
+        int columns = 0;
+        int swept = rowCount;
+        for (int q = queryCount - 1; q >= 0; q--) {
+            int i = (int) byQueryTop[q];
+            for (; swept > 0 && tops[swept - 1] >= queryTops[i]; swept--) {
+                double[] rowRights = rights[swept - 1];
+                for (int k = 0; k < rowRights.length; k++) {
+                    lowestRights[k] = k < columns ? Math.min(lowestRights[k], rowRights[k]) : rowRights[k];
+                }
+                columns = Math.max(columns, rowRights.length);
+            }
+            startColumns[i] = upperBound(lowestRights, columns, queryRights[i]);
+        }
+        return startColumns;
+    }
+
+    private static int[] startColumnsByRegrouping(List<List<Cell>> rowsOfCells, Rectangle bounds) {
+        int[] startColumns = new int[rowsOfCells.size()];
+        List<Cell> allCells = new ArrayList<>();
+        for (List<Cell> row : rowsOfCells) {
+            allCells.addAll(row);
+        }
+        for (int i = 0; i < rowsOfCells.size(); i++) {
+            Rectangle query = below(rowsOfCells.get(i).get(0), bounds);
+            List<Cell> inside = new ArrayList<>();
+            for (Cell cell : allCells) {
+                if (query.contains(cell)) {
+                    inside.add(cell);
+                }
+            }
+            for (List<Cell> r : rowsOfCells(inside)) {
+                startColumns[i] = Math.max(startColumns[i], r.size());
+            }
+        }
+        return startColumns;
+    }
+
+    // the area of bounds below cell and to the left of it
+    private static Rectangle below(Cell cell, Rectangle bounds) {
+        return new Rectangle(cell.getBottom(), bounds.getLeft(), cell.getLeft() - bounds.getLeft(),
+                bounds.getBottom() - cell.getBottom());
+    }
+
+    // the number of values[0 .. count) of at most x
+    private static int upperBound(double[] values, int count, double x) {
+        int low = 0, high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= x) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // the order of Float.compare, as an int
+    private static int sortable(float f) {
+        int bits = java.lang.Float.floatToIntBits(f);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
     
     private static List<List<Cell>> rowsOfCells(List<Cell> cells) {
         Cell c;
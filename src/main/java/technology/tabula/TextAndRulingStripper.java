@@ -0,0 +1,191 @@
+package technology.tabula;
+
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.pdfbox.contentstream.operator.MissingOperandException;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.contentstream.operator.OperatorProcessor;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType3Font;
+import org.apache.pdfbox.util.Matrix;
+import org.apache.pdfbox.util.Vector;
+
+/**
+ * A {@link TextStripper} that also collects the page's {@link Ruling}s, so that
+ * the content stream of a page is decoded and interpreted only once.
+ * <p>
+ * Path construction and painting operators are handled the same way as in
+ * {@link ObjectExtractorStreamEngine}.
+ */
+class TextAndRulingStripper extends TextStripper {
+
+    private final RulingCollector rulingCollector;
+
+    TextAndRulingStripper(PDDocument document, int pageNumber, boolean columnarText) throws IOException {
+        this(document, pageNumber, columnarText, false);
+    }
+
+    TextAndRulingStripper(PDDocument document, int pageNumber, boolean columnarText, boolean dropObliqueRulings) throws IOException {
+        super(document, pageNumber, columnarText);
+        this.rulingCollector = new RulingCollector(this, document.getPage(pageNumber - 1), dropObliqueRulings);
+
+        for (String name : new String[] { "m", "l", "c", "v", "y", "h", "re", "S", "s",
+                "f", "F", "f*", "B", "B*", "b", "b*", "n", "W", "W*" }) {
+            addOperator(new PathOperator(this, name));
+        }
+    }
+
+    public List<Ruling> getRulings() {
+        return rulingCollector.getRulings();
+    }
+
+    int getDroppedSegments(RulingCollector.SegmentFilter filter) {
+        return rulingCollector.getDroppedSegments(filter);
+    }
+
+    @Override
+    protected void showGlyph(Matrix textRenderingMatrix, PDFont font, int code, Vector displacement) throws IOException {
+        super.showGlyph(textRenderingMatrix, font, code, displacement);
+        // a graphics pass also runs the glyph procedures of Type 3 fonts, which may draw rulings
+        if (font instanceof PDType3Font) {
+            showType3Glyph(textRenderingMatrix, (PDType3Font) font, code, displacement);
+        }
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    private static class PathOperator extends OperatorProcessor {
+
+        private final TextAndRulingStripper stripper;
+        private final String name;
+
+        private PathOperator(TextAndRulingStripper stripper, String name) {
+            super(stripper);
+            this.stripper = stripper;
+            this.name = name;
+        }
+
+        @Override
+        public void process(Operator operator, List<COSBase> operands) throws IOException {
+            RulingCollector collector = stripper.rulingCollector;
+            switch (name) {
+                case "m":
+                    if (hasNumbers(operator, operands, 2)) {
+                        Point2D.Float p = point(operands, 0);
+                        collector.moveTo(p.x, p.y);
+                    }
+                    break;
+                case "l":
+                    if (hasNumbers(operator, operands, 2)) {
+                        Point2D.Float p = point(operands, 0);
+                        if (collector.getCurrentPoint() == null) {
+                            collector.moveTo(p.x, p.y);
+                        } else {
+                            collector.lineTo(p.x, p.y);
+                        }
+                    }
+                    break;
+                case "c":
+                    if (hasNumbers(operator, operands, 6)) {
+                        Point2D.Float p1 = point(operands, 0);
+                        Point2D.Float p2 = point(operands, 2);
+                        Point2D.Float p3 = point(operands, 4);
+                        if (collector.getCurrentPoint() == null) {
+                            collector.moveTo(p3.x, p3.y);
+                        } else {
+                            collector.curveTo(p1.x, p1.y, p2.x, p2.y, p3.x, p3.y);
+                        }
+                    }
+                    break;
+                case "v":
+                    if (hasNumbers(operator, operands, 4)) {
+                        Point2D current = collector.getCurrentPoint();
+                        Point2D.Float p2 = point(operands, 0);
+                        Point2D.Float p3 = point(operands, 2);
+                        if (current == null) {
+                            collector.moveTo(p3.x, p3.y);
+                        } else {
+                            collector.curveTo((float) current.getX(), (float) current.getY(), p2.x, p2.y, p3.x, p3.y);
+                        }
+                    }
+                    break;
+                case "y":
+                    if (hasNumbers(operator, operands, 4)) {
+                        Point2D.Float p1 = point(operands, 0);
+                        Point2D.Float p3 = point(operands, 2);
+                        collector.curveTo(p1.x, p1.y, p3.x, p3.y, p3.x, p3.y);
+                    }
+                    break;
+                case "h":
+                    if (collector.getCurrentPoint() != null) {
+                        collector.closePath();
+                    }
+                    break;
+                case "re":
+                    if (hasNumbers(operator, operands, 4)) {
+                        float x = ((COSNumber) operands.get(0)).floatValue();
+                        float y = ((COSNumber) operands.get(1)).floatValue();
+                        float x2 = ((COSNumber) operands.get(2)).floatValue() + x;
+                        float y2 = ((COSNumber) operands.get(3)).floatValue() + y;
+                        collector.appendRectangle(stripper.transformedPoint(x, y), stripper.transformedPoint(x2, y),
+                                stripper.transformedPoint(x2, y2), stripper.transformedPoint(x, y2));
+                    }
+                    break;
+                case "S":
+                    collector.strokeOrFillPath(false);
+                    break;
+                case "s":
+                    stripper.processOperator("h", Collections.<COSBase>emptyList());
+                    stripper.processOperator("S", Collections.<COSBase>emptyList());
+                    break;
+                case "f":
+                case "F":
+                case "f*":
+                case "B":
+                case "B*":
+                    collector.strokeOrFillPath(true);
+                    break;
+                case "b":
+                case "b*":
+                    stripper.processOperator("h", Collections.<COSBase>emptyList());
+                    collector.strokeOrFillPath(true);
+                    break;
+                case "n":
+                    collector.endPath();
+                    break;
+                case "W":
+                    collector.clip(Path2D.WIND_NON_ZERO);
+                    break;
+                case "W*":
+                    collector.clip(Path2D.WIND_EVEN_ODD);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private boolean hasNumbers(Operator operator, List<COSBase> operands, int count) throws MissingOperandException {
+            if (operands.size() < count) {
+                throw new MissingOperandException(operator, operands);
+            }
+            return checkArrayTypesClass(operands.subList(0, count), COSNumber.class);
+        }
+
+        private Point2D.Float point(List<COSBase> operands, int index) {
+            return stripper.transformedPoint(((COSNumber) operands.get(index)).floatValue(),
+                    ((COSNumber) operands.get(index + 1)).floatValue());
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+}
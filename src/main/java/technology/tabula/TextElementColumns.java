@@ -0,0 +1,314 @@
+package technology.tabula;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+/**
+ * The text elements of a page, stored column by column in primitive arrays instead of
+ * one {@link TextElement} object per glyph. Texts share a single {@code char[]} and fonts
+ * are kept once in a font table.
+ * <p>
+ * {@link TextElement}s are only created when asked for, by {@link #get(int)},
+ * {@link #asList()} and {@link #contains(Rectangle)}. Each call returns new, equal objects.
+ */
+public final class TextElementColumns {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int size;
+    private float[] top = new float[INITIAL_CAPACITY];
+    private float[] left = new float[INITIAL_CAPACITY];
+    private float[] width = new float[INITIAL_CAPACITY];
+    private float[] height = new float[INITIAL_CAPACITY];
+    private float[] fontSize = new float[INITIAL_CAPACITY];
+    private float[] widthOfSpace = new float[INITIAL_CAPACITY];
+    private float[] direction = new float[INITIAL_CAPACITY];
+    private int[] font = new int[INITIAL_CAPACITY];
+    private int[] textStart = new int[INITIAL_CAPACITY];
+    private int[] textLength = new int[INITIAL_CAPACITY];
+
+    private char[] chars = new char[INITIAL_CAPACITY * 4];
+    private int charCount;
+
+    private final List<PDFont> fonts = new ArrayList<>();
+    private final Map<PDFont, Integer> fontIndex = new IdentityHashMap<>();
+
+    private RectangleGrid spatialIndex;
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    public void add(float top, float left, float width, float height,
+                    PDFont font, float fontSize, String text, float widthOfSpace, float direction) {
+        if (spatialIndex != null) {
+            throw new IllegalStateException("Can't add text elements after indexing them.");
+        }
+        if (size == this.top.length) {
+            grow();
+        }
+        int row = size++;
+        this.top[row] = top;
+        this.left[row] = left;
+        this.width[row] = width;
+        this.height[row] = height;
+        this.font[row] = fontIndexOf(font);
+        this.fontSize[row] = fontSize;
+        this.widthOfSpace[row] = widthOfSpace;
+        this.direction[row] = direction;
+
+        if (charCount + text.length() > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + text.length()));
+        }
+        text.getChars(0, text.length(), chars, charCount);
+        this.textStart[row] = charCount;
+        this.textLength[row] = text.length();
+        charCount += text.length();
+    }
+
+    private int fontIndexOf(PDFont pdFont) {
+        Integer index = fontIndex.get(pdFont);
+        if (index == null) {
+            index = fonts.size();
+            fonts.add(pdFont);
+            fontIndex.put(pdFont, index);
+        }
+        return index;
+    }
+
+    private void grow() {
+        int capacity = top.length * 2;
+        top = Arrays.copyOf(top, capacity);
+        left = Arrays.copyOf(left, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        fontSize = Arrays.copyOf(fontSize, capacity);
+        widthOfSpace = Arrays.copyOf(widthOfSpace, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        font = Arrays.copyOf(font, capacity);
+        textStart = Arrays.copyOf(textStart, capacity);
+        textLength = Arrays.copyOf(textLength, capacity);
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    public int size() {
+        return size;
+    }
+
+    public float getTop(int row) {
+        return top[row];
+    }
+
+    public float getLeft(int row) {
+        return left[row];
+    }
+
+    public float getWidth(int row) {
+        return width[row];
+    }
+
+    public float getHeight(int row) {
+        return height[row];
+    }
+
+    public float getBottom(int row) {
+        return (float) ((double) top[row] + height[row]);
+    }
+
+    public float getRight(int row) {
+        return (float) ((double) left[row] + width[row]);
+    }
+
+    public PDFont getFont(int row) {
+        return fonts.get(font[row]);
+    }
+
+    public float getFontSize(int row) {
+        return fontSize[row];
+    }
+
+    public float getWidthOfSpace(int row) {
+        return widthOfSpace[row];
+    }
+
+    public float getDirection(int row) {
+        return direction[row];
+    }
+
+    public String getText(int row) {
+        return new String(chars, textStart[row], textLength[row]);
+    }
+
+    /**
+     * @return a new {@link TextElement} for the element at {@code row}
+     */
+    public TextElement get(int row) {
+        return new TextElement(top[row], left[row], width[row], height[row],
+                getFont(row), fontSize[row], getText(row), widthOfSpace[row], direction[row]);
+    }
+
+    /**
+     * @return a read-only list that creates the {@link TextElement} of a row whenever it is read
+     */
+    public List<TextElement> asList() {
+        return new TextElementList();
+    }
+
+    private final class TextElementList extends AbstractList<TextElement> implements RandomAccess {
+        @Override
+        public TextElement get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return TextElementColumns.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+
+    /**
+     * The text elements completely inside of {@code area}, in the order of
+     * {@link GridSpatialIndex#contains(Rectangle)}.
+     */
+    @SuppressWarnings("deprecation")
+    public List<TextElement> contains(Rectangle area) {
+        List<TextElement> rv = containsInOrder(area);
+        Utils.sort(rv, Rectangle.ILL_DEFINED_ORDER);
+        return rv;
+    }
+
+    /**
+     * The text elements completely inside of {@code area}, in row order, like
+     * {@link GridSpatialIndex#containsInOrder(Rectangle)}.
+     */
+    public List<TextElement> containsInOrder(Rectangle area) {
+        List<TextElement> rv = new ArrayList<>();
+
+        for (int row : getSpatialIndex().intersecting(area)) {
+            if (area.contains(left[row], top[row], width[row], height[row])) {
+                rv.add(get(row));
+            }
+        }
+        return rv;
+    }
+
+    /**
+     * Packs the index of the text elements, which is otherwise done by the first area query.
+     * No elements can be added or sorted afterwards.
+     */
+    void buildIndex() {
+        getSpatialIndex();
+    }
+
+    private RectangleGrid getSpatialIndex() {
+        // grids only have final fields, so a grid packed by a concurrent query is safe to use
+        if (spatialIndex == null) {
+            // the grid numbers elements by row, so rows must not move once it is packed
+            float[] elementLeft = new float[size], elementTop = new float[size];
+            float[] elementRight = new float[size], elementBottom = new float[size];
+            for (int row = 0; row < size; row++) {
+                elementLeft[row] = Math.min(left[row], getRight(row));
+                elementTop[row] = Math.min(top[row], getBottom(row));
+                elementRight[row] = Math.max(left[row], getRight(row));
+                elementBottom[row] = Math.max(top[row], getBottom(row));
+            }
+            spatialIndex = new RectangleGrid(elementLeft, elementTop, elementRight, elementBottom, size);
+        }
+        return spatialIndex;
+    }
+
+    // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+
+    /**
+     * Sorts the rows like {@code Utils.sort(textElements, Rectangle.ILL_DEFINED_ORDER)}
+     * quick-sorts a list of the same {@link TextElement}s, without creating them.
+     */
+    void sort() {
+        if (spatialIndex != null) {
+            throw new IllegalStateException("Can't sort text elements after indexing them.");
+        }
+        QuickSort.sort(size, new QuickSort.IndexedSortable() {
+            @Override
+            public int compare(int i, int j) {
+                if (sameElement(i, j)) {
+                    return 0;
+                }
+                // Rectangle.ILL_DEFINED_ORDER, for TextElements, which are never right-to-left dominant
+                if (verticalOverlap(i, j) > Rectangle.VERTICAL_COMPARISON_THRESHOLD) {
+                    return Double.compare(left[i], left[j]);
+                }
+                return Float.compare(getBottom(i), getBottom(j));
+            }
+
+            @Override
+            public void swap(int i, int j) {
+                swapRows(i, j);
+            }
+        });
+    }
+
+    private float verticalOverlap(int i, int j) {
+        return Math.max(0, Math.min(getBottom(i), getBottom(j)) - Math.max(top[i], top[j]));
+    }
+
+    // TextElement#equals
+    private boolean sameElement(int i, int j) {
+        if (left[i] != left[j] || top[i] != top[j] || width[i] != width[j] || height[i] != height[j]) {
+            return false;
+        }
+        if (Float.floatToIntBits(direction[i]) != Float.floatToIntBits(direction[j])
+                || Float.floatToIntBits(fontSize[i]) != Float.floatToIntBits(fontSize[j])
+                || Float.floatToIntBits(widthOfSpace[i]) != Float.floatToIntBits(widthOfSpace[j])) {
+            return false;
+        }
+        PDFont fontI = getFont(i);
+        PDFont fontJ = getFont(j);
+        if (fontI == null ? fontJ != null : !fontI.equals(fontJ)) {
+            return false;
+        }
+        if (textLength[i] != textLength[j]) {
+            return false;
+        }
+        for (int k = 0; k < textLength[i]; k++) {
+            if (chars[textStart[i] + k] != chars[textStart[j] + k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void swapRows(int i, int j) {
+        swap(top, i, j);
+        swap(left, i, j);
+        swap(width, i, j);
+        swap(height, i, j);
+        swap(fontSize, i, j);
+        swap(widthOfSpace, i, j);
+        swap(direction, i, j);
+        swap(font, i, j);
+        swap(textStart, i, j);
+        swap(textLength, i, j);
+    }
+
+    private static void swap(float[] values, int i, int j) {
+        float tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+}
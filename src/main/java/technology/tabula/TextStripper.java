@@ -2,6 +2,7 @@ package technology.tabula;
 
 import org.apache.fontbox.util.BoundingBox;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
 import org.apache.pdfbox.pdmodel.font.PDType3Font;
@@ -20,19 +21,31 @@ public class TextStripper extends PDFTextStripper {
     private static final float MIN_BLANK_FONT_SIZE = 2.0f;
     private final PDDocument document;
     private final ArrayList<TextElement> textElements;
-    private final RectangleSpatialIndex<TextElement> spatialIndex;
+    private SpatialIndex<TextElement> spatialIndex;
+    // built by getSpatialIndex(), until more text is added
+    private RectangleSpatialIndex<TextElement> rectangleSpatialIndex;
+    private final TextElementColumns textElementColumns;
     private float minCharWidth = Float.MAX_VALUE;
     private float minCharHeight = Float.MAX_VALUE;
     private float totalHeight = 0.0f;
     private int countHeight = 0;
 
     public TextStripper(PDDocument document, int pageNumber) throws IOException {
+        this(document, pageNumber, false);
+    }
+
+    /**
+     * @param columnar collect the page's text elements in a {@link TextElementColumns}
+     *                 instead of {@link TextElement} objects and a spatial index
+     */
+    public TextStripper(PDDocument document, int pageNumber, boolean columnar) throws IOException {
         super();
         this.document = document;
         this.setStartPage(pageNumber);
         this.setEndPage(pageNumber);
-        this.textElements = new ArrayList<>();
-        this.spatialIndex = new RectangleSpatialIndex<>();
+        this.textElements = columnar ? null : new ArrayList<TextElement>();
+        this.spatialIndex = columnar ? null : GridSpatialIndex.of(new ArrayList<TextElement>());
+        this.textElementColumns = columnar ? new TextElementColumns() : null;
     }
 
     public void process() throws IOException {
@@ -63,26 +76,24 @@ public class TextStripper extends PDFTextStripper {
 
             float wos = textPosition.getWidthOfSpace();
 
-            TextElement te = new TextElement(Utils.round(textPosition.getYDirAdj() - h, 2),
-                    Utils.round(textPosition.getXDirAdj(), 2), Utils.round(textPosition.getWidthDirAdj(), 2),
-                    Utils.round(textPosition.getHeightDir(), 2), textPosition.getFont(), textPosition.getFontSizeInPt(), c,
-                    // workaround a possible bug in PDFBox:
-                    // https://issues.apache.org/jira/browse/PDFBOX-1755
-                    wos, textPosition.getDir());
+            float top = Utils.round(textPosition.getYDirAdj() - h, 2);
+            float left = Utils.round(textPosition.getXDirAdj(), 2);
+            float width = Utils.round(textPosition.getWidthDirAdj(), 2);
+            float height = Utils.round(textPosition.getHeightDir(), 2);
 
-            this.minCharWidth = (float) Math.min(this.minCharWidth, te.getWidth());
-            this.minCharHeight = (float) Math.min(this.minCharHeight, te.getHeight());
+            this.minCharWidth = Math.min(this.minCharWidth, width);
+            this.minCharHeight = Math.min(this.minCharHeight, height);
 
             countHeight++;
-            totalHeight += te.getHeight();
+            totalHeight += height;
             float avgHeight = totalHeight / countHeight;
             
             //We have an issue where tall blank cells throw off the row height calculation
             //Introspect a blank cell a bit here to see if it should be thrown away
-            if ((te.getText() == null || te.getText().trim().equals(""))) {
+            if (c.trim().equals("")) {
                 //if the cell height is more than AVG_HEIGHT_MULT_THRESHOLDxaverage, throw it away
                 if (avgHeight > 0
-                        && te.getHeight() >= (avgHeight * AVG_HEIGHT_MULT_THRESHOLD)) {
+                        && height >= (avgHeight * AVG_HEIGHT_MULT_THRESHOLD)) {
                     continue;
                 }
                 
@@ -91,9 +102,38 @@ public class TextStripper extends PDFTextStripper {
                     continue;
                 }
             }
-            
-            this.spatialIndex.add(te);
+
+            if (this.textElementColumns != null) {
+                this.textElementColumns.add(top, left, width, height, textPosition.getFont(), textPosition.getFontSizeInPt(), c,
+                        // workaround a possible bug in PDFBox:
+                        // https://issues.apache.org/jira/browse/PDFBOX-1755
+                        wos, textPosition.getDir());
+                continue;
+            }
+
+            TextElement te = new TextElement(top, left, width, height, textPosition.getFont(), textPosition.getFontSizeInPt(), c,
+                    // workaround a possible bug in PDFBox:
+                    // https://issues.apache.org/jira/browse/PDFBOX-1755
+                    wos, textPosition.getDir());
+
             this.textElements.add(te);
+            this.rectangleSpatialIndex = null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    protected void endPage(PDPage page) throws IOException {
+        super.endPage(page);
+        // sort the finished page into reading order and index it in one go, in that order,
+        // so that the index numbers each text element by its rank on the page
+        if (this.textElementColumns != null) {
+            this.textElementColumns.sort();
+            this.textElementColumns.buildIndex();
+        } else {
+            Utils.sort(this.textElements, Rectangle.ILL_DEFINED_ORDER);
+            this.spatialIndex = GridSpatialIndex.of(this.textElements);
+            this.rectangleSpatialIndex = null;
         }
     }
 
@@ -157,14 +197,43 @@ public class TextStripper extends PDFTextStripper {
         return printable;
     }
 
+    /**
+     * @return the text elements, sorted by {@link Rectangle#ILL_DEFINED_ORDER} once the page is finished
+     */
     public List<TextElement> getTextElements() {
-        return this.textElements;
+        return this.textElementColumns != null ? this.textElementColumns.asList() : this.textElements;
     }
 
-    public RectangleSpatialIndex<TextElement> getSpatialIndex() {
+    /**
+     * @return the text elements if this stripper collects them in columns, {@code null} otherwise
+     */
+    public TextElementColumns getTextElementColumns() {
+        return this.textElementColumns;
+    }
+
+    /**
+     * @return the immutable index of the text elements, packed when the page is finished;
+     * {@code null} if this stripper collects them in columns
+     */
+    public SpatialIndex<TextElement> getTextIndex() {
         return spatialIndex;
     }
 
+    /**
+     * @return a {@link RectangleSpatialIndex} of the text elements collected so far, built when it
+     * is first asked for; {@link #getTextIndex()} is the index pages are made with
+     */
+    public RectangleSpatialIndex<TextElement> getSpatialIndex() {
+        if (this.rectangleSpatialIndex == null) {
+            RectangleSpatialIndex<TextElement> index = new RectangleSpatialIndex<>();
+            for (TextElement te : getTextElements()) {
+                index.add(te);
+            }
+            this.rectangleSpatialIndex = index;
+        }
+        return this.rectangleSpatialIndex;
+    }
+
     public float getMinCharWidth() {
         return minCharWidth;
     }
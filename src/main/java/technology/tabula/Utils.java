@@ -187,87 +187,85 @@ public class Utils {
         return rv;
     }
 
+    /**
+     * Snaps the endpoints of {@code rulings} together: first the endpoints whose x-coordinates are within
+     * {@code xThreshold}, then those whose y-coordinates are within {@code yThreshold}, each group to its
+     * average. The rulings are changed in place.
+     * <p>
+     * Endpoints are grouped in one pass over them, stably sorted by coordinate, and a group takes all
+     * endpoints within the threshold of its first one. The last endpoint is never grouped.
+     */
     public static void snapPoints(List<? extends Line2D.Float> rulings, float xThreshold, float yThreshold) {
+        if (rulings.isEmpty()) {
+            return;
+        }
 
-        // collect points and keep a Line -> p1,p2 map
-        Map<Line2D.Float, Point2D[]> linesToPoints = new HashMap<>();
-        List<Point2D> points = new ArrayList<>();
-        for (Line2D.Float r : rulings) {
-            Point2D p1 = r.getP1();
-            Point2D p2 = r.getP2();
-            linesToPoints.put(r, new Point2D[]{p1, p2});
-            points.add(p1);
-            points.add(p2);
+        // the endpoints of ruling i are 2 * i and 2 * i + 1
+        int count = rulings.size() * 2;
+        float[] xs = new float[count];
+        float[] ys = new float[count];
+        int[] order = new int[count];
+        for (int i = 0; i < rulings.size(); i++) {
+            Line2D.Float r = rulings.get(i);
+            xs[2 * i] = r.x1;
+            ys[2 * i] = r.y1;
+            xs[2 * i + 1] = r.x2;
+            ys[2 * i + 1] = r.y2;
+            order[2 * i] = 2 * i;
+            order[2 * i + 1] = 2 * i + 1;
         }
 
         // snap by X
-        Collections.sort(points, new Comparator<Point2D>() {
-            @Override
-            public int compare(Point2D arg0, Point2D arg1) {
-                return java.lang.Double.compare(arg0.getX(), arg1.getX());
-            }
-        });
+        order = stableSort(xs, order);
+        snap(xs, order, xThreshold);
 
-        List<List<Point2D>> groupedPoints = new ArrayList<>();
-        groupedPoints.add(new ArrayList<>(Arrays.asList(new Point2D[]{points.get(0)})));
+        // snap by Y, starting from the endpoints sorted by x
+        order = stableSort(ys, order);
+        snap(ys, order, yThreshold);
 
-        for (Point2D p : points.subList(1, points.size() - 1)) {
-            List<Point2D> last = groupedPoints.get(groupedPoints.size() - 1);
-            if (Math.abs(p.getX() - last.get(0).getX()) < xThreshold) {
-                groupedPoints.get(groupedPoints.size() - 1).add(p);
-            } else {
-                groupedPoints.add(new ArrayList<>(Arrays.asList(new Point2D[]{p})));
-            }
+        // finally, modify lines. A ruling that is in the list twice ends up with its last endpoints
+        for (int i = 0; i < rulings.size(); i++) {
+            rulings.get(i).setLine(xs[2 * i], ys[2 * i], xs[2 * i + 1], ys[2 * i + 1]);
         }
+    }
 
-        for (List<Point2D> group : groupedPoints) {
-            float avgLoc = 0;
-            for (Point2D p : group) {
-                avgLoc += p.getX();
-            }
-            avgLoc /= group.size();
-            for (Point2D p : group) {
-                p.setLocation(avgLoc, p.getY());
-            }
+    // the endpoints in order, stably sorted by coordinate
+    private static int[] stableSort(float[] coordinates, int[] order) {
+        // the coordinate as an int that sorts like Float.compare, then the position in order
+        long[] keys = new long[order.length];
+        for (int k = 0; k < order.length; k++) {
+            int bits = Float.floatToIntBits(coordinates[order[k]]);
+            keys[k] = ((long) (bits ^ ((bits >> 31) & 0x7FFFFFFF)) << 32) | k;
         }
-        // ---
-
-        // snap by Y
-        Collections.sort(points, new Comparator<Point2D>() {
-            @Override
-            public int compare(Point2D arg0, Point2D arg1) {
-                return java.lang.Double.compare(arg0.getY(), arg1.getY());
-            }
-        });
-
-        groupedPoints = new ArrayList<>();
-        groupedPoints.add(new ArrayList<>(Arrays.asList(new Point2D[]{points.get(0)})));
+        Arrays.sort(keys);
 
-        for (Point2D p : points.subList(1, points.size() - 1)) {
-            List<Point2D> last = groupedPoints.get(groupedPoints.size() - 1);
-            if (Math.abs(p.getY() - last.get(0).getY()) < yThreshold) {
-                groupedPoints.get(groupedPoints.size() - 1).add(p);
-            } else {
-                groupedPoints.add(new ArrayList<>(Arrays.asList(new Point2D[]{p})));
-            }
+        int[] sorted = new int[order.length];
+        for (int k = 0; k < order.length; k++) {
+            sorted[k] = order[(int) keys[k]];
         }
+        return sorted;
+    }
 
-        for (List<Point2D> group : groupedPoints) {
-            float avgLoc = 0;
-            for (Point2D p : group) {
-                avgLoc += p.getY();
-            }
-            avgLoc /= group.size();
-            for (Point2D p : group) {
-                p.setLocation(p.getX(), avgLoc);
+    private static void snap(float[] coordinates, int[] sorted, float threshold) {
+        int groupStart = 0;
+        for (int k = 1; k < sorted.length - 1; k++) {
+            if (!(Math.abs((double) coordinates[sorted[k]] - coordinates[sorted[groupStart]]) < threshold)) {
+                snapGroup(coordinates, sorted, groupStart, k);
+                groupStart = k;
             }
         }
-        // ---
+        snapGroup(coordinates, sorted, groupStart, Math.max(sorted.length - 1, 1));
+    }
 
-        // finally, modify lines
-        for (Map.Entry<Line2D.Float, Point2D[]> ltp : linesToPoints.entrySet()) {
-            Point2D[] p = ltp.getValue();
-            ltp.getKey().setLine(p[0], p[1]);
+    // moves the endpoints sorted[from .. to) to their average, summed in double and rounded to float at each step
+    private static void snapGroup(float[] coordinates, int[] sorted, int from, int to) {
+        float avgLoc = 0;
+        for (int k = from; k < to; k++) {
+            avgLoc = (float) ((double) avgLoc + coordinates[sorted[k]]);
+        }
+        avgLoc /= to - from;
+        for (int k = from; k < to; k++) {
+            coordinates[sorted[k]] = avgLoc;
         }
     }
 
@@ -25,6 +25,7 @@ import technology.tabula.Page;
 import technology.tabula.ProjectionProfile;
 import technology.tabula.Rectangle;
 import technology.tabula.Ruling;
+import technology.tabula.RulingIntersections;
 import technology.tabula.Table;
 import technology.tabula.TextChunk;
 import technology.tabula.TextElement;
@@ -46,10 +47,10 @@ public class Debug {
             new Color(231, 41, 138), new Color(102, 166, 30)};
 
     public static void debugIntersections(Graphics2D g, Page page) {
-        int i = 0;
-        for (Point2D p : Ruling.findIntersections(page.getHorizontalRulings(), page.getVerticalRulings()).keySet()) {
-            g.setColor(COLORS[(i++) % 5]);
-            g.fill(new Ellipse2D.Float((float) p.getX() - CIRCLE_RADIUS / 2f, (float) p.getY() - CIRCLE_RADIUS / 2f, 5f,
+        RulingIntersections intersections = Ruling.findRulingIntersections(page.getHorizontalRulings(), page.getVerticalRulings());
+        for (int i = 0; i < intersections.size(); i++) {
+            g.setColor(COLORS[i % 5]);
+            g.fill(new Ellipse2D.Float(intersections.getX(i) - CIRCLE_RADIUS / 2f, intersections.getY(i) - CIRCLE_RADIUS / 2f, 5f,
                     5f));
         }
     }
@@ -16,10 +16,17 @@ import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
 import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Created by matt on 2015-12-17.
@@ -39,6 +46,7 @@ public class NurminenDetectionAlgorithm implements DetectionAlgorithm {
     private static final int REQUIRED_TEXT_LINES_FOR_EDGE = 4;
     private static final int REQUIRED_CELLS_FOR_TABLE = 4;
     private static final float IDENTICAL_TABLE_OVERLAP_RATIO = 0.9f;
+    private static final int EDGE_SCAN_STRIPE = 64;
 
     /**
      * Helper class that encapsulates a text edge
@@ -83,44 +91,113 @@ public class NurminenDetectionAlgorithm implements DetectionAlgorithm {
         }
     }
 
+    /**
+     * Where the horizontal and vertical lines that delimit table cells are taken from.
+     */
+    public enum RulingSource {
+        /**
+         * Edges found in a rendered image of the page, once with and once without text.
+         * This captures what a person sees, even when lines are drawn as images or
+         * the content stream holds invisible paths.
+         */
+        RASTER,
+        /**
+         * The rulings of the page's vector paths, as extracted by {@link ObjectExtractor},
+         * without rendering the page. Pages without any vector rulings fall back to {@link #RASTER}.
+         */
+        VECTOR,
+        /**
+         * Like {@link #RASTER}, but the page is rendered only once: before looking for
+         * vertical edges, the boxes of the page's text elements are blanked in the image
+         * instead of rendering a copy of the page without text.
+         */
+        MASKED_RASTER
+    }
+
+
+    /**
+     * The page coordinate space is half the size of the image coordinate space the
+     * edge thresholds are tuned for.
+     */
+    private static final float IMAGE_SCALE = 2f;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Scans rendered pages for edges on the common fork-join pool.
+     */
+    public NurminenDetectionAlgorithm() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool runs the horizontal and vertical edge scans of rendered pages, each split in stripes
+     */
+    public NurminenDetectionAlgorithm(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
     @Override
     public List<Rectangle> detect(Page page) {
+        return detect(page, RulingSource.RASTER);
+    }
+
+    public List<Rectangle> detect(Page page, RulingSource rulingSource) {
+        List<Ruling> horizontalRulings;
+        List<Ruling> verticalRulings;
 
         // get horizontal & vertical lines
-        // we get these from an image of the PDF and not the PDF itself because sometimes there are invisible PDF
-        // instructions that are interpreted incorrectly as visible elements - we really want to capture what a
-        // person sees when they look at the PDF
-        BufferedImage image;
-        PDPage pdfPage = page.getPDPage();
-        try {
-            image = Utils.pageConvertToImage(page.getPDDoc(), pdfPage, 144, ImageType.GRAY);
-        } catch (IOException e) {
-            return new ArrayList<>();
-        }
-
-        List<Ruling> horizontalRulings = this.getHorizontalRulings(image);
-
-        // now check the page for vertical lines, but remove the text first to make things less confusing
-        PDDocument removeTextDocument = null;
-        try {
-            removeTextDocument = this.removeText(pdfPage);
-            pdfPage = removeTextDocument.getPage(0);
-            image = Utils.pageConvertToImage(removeTextDocument, pdfPage, 144, ImageType.GRAY);
-        } catch (Exception e) {
-            return new ArrayList<>();
-        } finally {
-            if (removeTextDocument != null) {
-                try {
-                    removeTextDocument.close();
-                } catch (IOException e) {
-                    // TODO Auto-generated catch block
-                    e.printStackTrace();
+        if (rulingSource == RulingSource.VECTOR && !page.getRulings().isEmpty()) {
+            horizontalRulings = toImageSpace(page.getHorizontalRulings());
+            verticalRulings = toImageSpace(page.getVerticalRulings());
+        } else {
+            // we get these from an image of the PDF and not the PDF itself because sometimes there are invisible PDF
+            // instructions that are interpreted incorrectly as visible elements - we really want to capture what a
+            // person sees when they look at the PDF
+            BufferedImage image;
+            PDPage pdfPage = page.getPDPage();
+            try {
+                image = Utils.pageConvertToImage(page.getPDDoc(), pdfPage, 144, ImageType.GRAY);
+            } catch (IOException e) {
+                return new ArrayList<>();
+            }
+
+            // the horizontal scan runs while the page is prepared for the vertical one
+            ForkJoinTask<List<Ruling>> horizontalScan = pool.submit(new EdgeScan(GrayPixels.of(image), true));
+
+            try {
+                // now check the page for vertical lines, but remove the text first to make things less confusing
+                if (rulingSource == RulingSource.MASKED_RASTER) {
+                    image = copyOf(image);
+                    maskText(image, page.getText());
+                } else {
+                    PDDocument removeTextDocument = null;
+                    try {
+                        removeTextDocument = this.removeText(pdfPage);
+                        pdfPage = removeTextDocument.getPage(0);
+                        image = Utils.pageConvertToImage(removeTextDocument, pdfPage, 144, ImageType.GRAY);
+                    } catch (Exception e) {
+                        return new ArrayList<>();
+                    } finally {
+                        if (removeTextDocument != null) {
+                            try {
+                                removeTextDocument.close();
+                            } catch (IOException e) {
+                                // TODO Auto-generated catch block
+                                e.printStackTrace();
+                            }
+                        }
+                    }
                 }
+
+                verticalRulings = getVerticalRulings(image, pool);
+                horizontalRulings = sortHorizontalEdges(horizontalScan.join());
+            } finally {
+                // a no-op once joined; otherwise the scan is dropped when the vertical pass bails out or fails
+                horizontalScan.cancel(true);
             }
         }
 
-        List<Ruling> verticalRulings = this.getVerticalRulings(image);
-
         List<Ruling> allEdges = new ArrayList<>(horizontalRulings);
         allEdges.addAll(verticalRulings);
 
@@ -668,49 +745,142 @@ public class NurminenDetectionAlgorithm implements DetectionAlgorithm {
         return tableAreas;
     }
 
-    private List<Ruling> getHorizontalRulings(BufferedImage image) {
+    /**
+     * Blanks the boxes of {@code textElements} in {@code image}. Each row of a box is filled
+     * with the pixel just left of it, so text on a shaded background leaves no edges behind.
+     */
+    private static void maskText(BufferedImage image, List<TextElement> textElements) {
+        WritableRaster raster = image.getRaster();
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+
+        for (TextElement textElement : textElements) {
+            int left = Math.max(0, (int) Math.floor(textElement.getLeft() * IMAGE_SCALE));
+            int top = Math.max(0, (int) Math.floor(textElement.getTop() * IMAGE_SCALE));
+            int right = Math.min(width - 1, (int) Math.ceil(textElement.getRight() * IMAGE_SCALE));
+            int bottom = Math.min(height - 1, (int) Math.ceil(textElement.getBottom() * IMAGE_SCALE));
+            if (left > right || top > bottom) {
+                // outside of the rendered page
+                continue;
+            }
 
-        // get all horizontal edges, which we'll define as a change in grayscale colour
-        // along a straight line of a certain length
-        ArrayList<Ruling> horizontalRulings = new ArrayList<>();
+            for (int y = top; y <= bottom; y++) {
+                int background = left > 0 ? raster.getSample(left - 1, y, 0) : 255;
+                for (int x = left; x <= right; x++) {
+                    raster.setSample(x, y, 0, background);
+                }
+            }
+        }
+    }
 
-        Raster r = image.getRaster();
-        int width = r.getWidth();
-        int height = r.getHeight();
+    private static BufferedImage copyOf(BufferedImage image) {
+        return new BufferedImage(image.getColorModel(), image.copyData(null), image.isAlphaPremultiplied(), null);
+    }
 
-        for (int x = 0; x < width; x++) {
+    private static List<Ruling> toImageSpace(List<Ruling> rulings) {
+        List<Ruling> scaled = new ArrayList<>(rulings.size());
+        for (Ruling ruling : rulings) {
+            scaled.add(new Ruling(
+                    new Point2D.Float(ruling.x1 * IMAGE_SCALE, ruling.y1 * IMAGE_SCALE),
+                    new Point2D.Float(ruling.x2 * IMAGE_SCALE, ruling.y2 * IMAGE_SCALE)));
+        }
+        return scaled;
+    }
 
-            int[] lastPixel = r.getPixel(x, 0, (int[]) null);
+    static List<Ruling> getHorizontalRulings(BufferedImage image) {
+        GrayPixels pixels = GrayPixels.of(image);
+        List<Ruling> horizontalRulings = new ArrayList<>();
+        scanHorizontalEdges(pixels, 1, pixels.height - 1, horizontalRulings);
+        return sortHorizontalEdges(horizontalRulings);
+    }
 
-            for (int y = 1; y < height - 1; y++) {
+    static List<Ruling> getHorizontalRulings(BufferedImage image, ForkJoinPool pool) {
+        return sortHorizontalEdges(pool.invoke(new EdgeScan(GrayPixels.of(image), true)));
+    }
 
-                int[] currPixel = r.getPixel(x, y, (int[]) null);
+    static List<Ruling> getVerticalRulings(BufferedImage image) {
+        GrayPixels pixels = GrayPixels.of(image);
+        List<Ruling> verticalRulings = new ArrayList<>();
+        scanVerticalEdges(pixels, 1, pixels.width - 1, verticalRulings);
+        return sortVerticalEdges(verticalRulings);
+    }
 
-                int diff = Math.abs(currPixel[0] - lastPixel[0]);
-                if (diff > GRAYSCALE_INTENSITY_THRESHOLD) {
-                    // we hit what could be a line
-                    // don't bother scanning it if we've hit a pixel in the line before
-                    boolean alreadyChecked = false;
-                    for (Line2D.Float line : horizontalRulings) {
-                        if (y == line.getY1() && x >= line.getX1() && x <= line.getX2()) {
-                            alreadyChecked = true;
-                            break;
-                        }
-                    }
+    static List<Ruling> getVerticalRulings(BufferedImage image, ForkJoinPool pool) {
+        return sortVerticalEdges(pool.invoke(new EdgeScan(GrayPixels.of(image), false)));
+    }
 
-                    if (alreadyChecked) {
-                        lastPixel = currPixel;
-                        continue;
-                    }
+    /**
+     * Scans a stripe of rows (horizontal edges) or columns (vertical edges) of an image.
+     * Stripes wider than {@link #EDGE_SCAN_STRIPE} are split in halves that are scanned
+     * in parallel. Edges come back grouped by stripe, not in scan order.
+     */
+    @SuppressWarnings("serial")
+    private static final class EdgeScan extends RecursiveTask<List<Ruling>> {
+        private final GrayPixels pixels;
+        private final boolean horizontal;
+        private final int from;
+        private final int to;
+
+        EdgeScan(GrayPixels pixels, boolean horizontal) {
+            this(pixels, horizontal, 1, horizontal ? pixels.height - 1 : pixels.width - 1);
+        }
+
+        private EdgeScan(GrayPixels pixels, boolean horizontal, int from, int to) {
+            this.pixels = pixels;
+            this.horizontal = horizontal;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Ruling> compute() {
+            if (to - from <= EDGE_SCAN_STRIPE) {
+                List<Ruling> rulings = new ArrayList<>();
+                if (horizontal) {
+                    scanHorizontalEdges(pixels, from, to, rulings);
+                } else {
+                    scanVerticalEdges(pixels, from, to, rulings);
+                }
+                return rulings;
+            }
+
+            int middle = (from + to) >>> 1;
+            EdgeScan first = new EdgeScan(pixels, horizontal, from, middle);
+            first.fork();
+            List<Ruling> second = new EdgeScan(pixels, horizontal, middle, to).compute();
+            List<Ruling> rulings = first.join();
+            rulings.addAll(second);
+            return rulings;
+        }
+    }
+
+    /**
+     * Finds the horizontal edges starting in rows {@code [fromY, toY)}, which we'll define as a
+     * change in grayscale colour along a straight line of a certain length.
+     */
+    private static void scanHorizontalEdges(GrayPixels pixels, int fromY, int toY, List<Ruling> horizontalRulings) {
+        int width = pixels.width;
 
+        // whether a pixel starts an edge only depends on its own row and the one above it, so the
+        // image is scanned row by row, which is how it is laid out in memory
+        for (int y = fromY; y < toY; y++) {
+
+            for (int x = 0; x < width; x++) {
+
+                int lastPixel = pixels.get(x, y - 1);
+                int currPixel = pixels.get(x, y);
+
+                int diff = Math.abs(currPixel - lastPixel);
+                if (diff > GRAYSCALE_INTENSITY_THRESHOLD) {
+                    // we hit what could be a line
                     int lineX = x + 1;
 
                     while (lineX < width) {
-                        int[] linePixel = r.getPixel(lineX, y, (int[]) null);
-                        int[] abovePixel = r.getPixel(lineX, y - 1, (int[]) null);
+                        int linePixel = pixels.get(lineX, y);
+                        int abovePixel = pixels.get(lineX, y - 1);
 
-                        if (Math.abs(linePixel[0] - abovePixel[0]) <= GRAYSCALE_INTENSITY_THRESHOLD
-                                || Math.abs(currPixel[0] - linePixel[0]) > GRAYSCALE_INTENSITY_THRESHOLD) {
+                        if (Math.abs(linePixel - abovePixel) <= GRAYSCALE_INTENSITY_THRESHOLD
+                                || Math.abs(currPixel - linePixel) > GRAYSCALE_INTENSITY_THRESHOLD) {
                             break;
                         }
 
@@ -721,47 +891,42 @@ public class NurminenDetectionAlgorithm implements DetectionAlgorithm {
                     int lineWidth = endX - x;
                     if (lineWidth > HORIZONTAL_EDGE_WIDTH_MINIMUM) {
                         horizontalRulings.add(new Ruling(new Point2D.Float(x, y), new Point2D.Float(endX, y)));
+                        // don't bother scanning pixels of the line we just found
+                        x = endX;
                     }
                 }
-
-                lastPixel = currPixel;
             }
         }
-
-        return horizontalRulings;
     }
 
-    private List<Ruling> getVerticalRulings(BufferedImage image) {
-
-        // get all vertical edges, which we'll define as a change in grayscale colour
-        // along a straight line of a certain length
-        ArrayList<Ruling> verticalRulings = new ArrayList<>();
+    /**
+     * Finds the vertical edges in columns {@code [fromX, toX)}, which we'll define as a
+     * change in grayscale colour along a straight line of a certain length.
+     */
+    private static void scanVerticalEdges(GrayPixels pixels, int fromX, int toX, List<Ruling> verticalRulings) {
+        if (toX <= fromX) {
+            // images one pixel wide have no columns with a left neighbour to compare to
+            return;
+        }
+        int height = pixels.height;
 
-        Raster r = image.getRaster();
-        int width = r.getWidth();
-        int height = r.getHeight();
+        // last row covered by an edge already found in each column
+        int[] checkedUntil = new int[toX - fromX];
+        Arrays.fill(checkedUntil, -1);
 
         for (int y = 0; y < height; y++) {
 
-            int[] lastPixel = r.getPixel(0, y, (int[]) null);
+            int lastPixel = pixels.get(fromX - 1, y);
 
-            for (int x = 1; x < width - 1; x++) {
+            for (int x = fromX; x < toX; x++) {
 
-                int[] currPixel = r.getPixel(x, y, (int[]) null);
+                int currPixel = pixels.get(x, y);
 
-                int diff = Math.abs(currPixel[0] - lastPixel[0]);
+                int diff = Math.abs(currPixel - lastPixel);
                 if (diff > GRAYSCALE_INTENSITY_THRESHOLD) {
                     // we hit what could be a line
                     // don't bother scanning it if we've hit a pixel in the line before
-                    boolean alreadyChecked = false;
-                    for (Line2D.Float line : verticalRulings) {
-                        if (x == line.getX1() && y >= line.getY1() && y <= line.getY2()) {
-                            alreadyChecked = true;
-                            break;
-                        }
-                    }
-
-                    if (alreadyChecked) {
+                    if (y <= checkedUntil[x - fromX]) {
                         lastPixel = currPixel;
                         continue;
                     }
@@ -769,11 +934,11 @@ public class NurminenDetectionAlgorithm implements DetectionAlgorithm {
                     int lineY = y + 1;
 
                     while (lineY < height) {
-                        int[] linePixel = r.getPixel(x, lineY, (int[]) null);
-                        int[] leftPixel = r.getPixel(x - 1, lineY, (int[]) null);
+                        int linePixel = pixels.get(x, lineY);
+                        int leftPixel = pixels.get(x - 1, lineY);
 
-                        if (Math.abs(linePixel[0] - leftPixel[0]) <= GRAYSCALE_INTENSITY_THRESHOLD
-                                || Math.abs(currPixel[0] - linePixel[0]) > GRAYSCALE_INTENSITY_THRESHOLD) {
+                        if (Math.abs(linePixel - leftPixel) <= GRAYSCALE_INTENSITY_THRESHOLD
+                                || Math.abs(currPixel - linePixel) > GRAYSCALE_INTENSITY_THRESHOLD) {
                             break;
                         }
 
@@ -784,16 +949,91 @@ public class NurminenDetectionAlgorithm implements DetectionAlgorithm {
                     int lineLength = endY - y;
                     if (lineLength > VERTICAL_EDGE_HEIGHT_MINIMUM) {
                         verticalRulings.add(new Ruling(new Point2D.Float(x, y), new Point2D.Float(x, endY)));
+                        checkedUntil[x - fromX] = endY;
                     }
                 }
 
                 lastPixel = currPixel;
             }
         }
+    }
 
+    // report horizontal edges in the column-by-column order they were always found in
+    private static List<Ruling> sortHorizontalEdges(List<Ruling> horizontalRulings) {
+        Collections.sort(horizontalRulings, new Comparator<Ruling>() {
+            @Override
+            public int compare(Ruling r1, Ruling r2) {
+                int result = Float.compare(r1.x1, r2.x1);
+                return result != 0 ? result : Float.compare(r1.y1, r2.y1);
+            }
+        });
+        return horizontalRulings;
+    }
+
+    // report vertical edges in the row-by-row order they were always found in
+    private static List<Ruling> sortVerticalEdges(List<Ruling> verticalRulings) {
+        Collections.sort(verticalRulings, new Comparator<Ruling>() {
+            @Override
+            public int compare(Ruling r1, Ruling r2) {
+                int result = Float.compare(r1.y1, r2.y1);
+                return result != 0 ? result : Float.compare(r1.x1, r2.x1);
+            }
+        });
         return verticalRulings;
     }
 
+    /**
+     * Direct read access to the samples of an 8-bit grayscale image, without
+     * the per-pixel array allocations of {@link Raster#getPixel(int, int, int[])}.
+     */
+    private static final class GrayPixels {
+        private final byte[] data;
+        private final int offset;
+        private final int scanlineStride;
+        private final int width;
+        private final int height;
+
+        private GrayPixels(byte[] data, int offset, int scanlineStride, int width, int height) {
+            this.data = data;
+            this.offset = offset;
+            this.scanlineStride = scanlineStride;
+            this.width = width;
+            this.height = height;
+        }
+
+        static GrayPixels of(BufferedImage image) {
+            Raster raster = image.getRaster();
+            int width = raster.getWidth();
+            int height = raster.getHeight();
+            SampleModel sampleModel = raster.getSampleModel();
+
+            if (raster.getDataBuffer() instanceof DataBufferByte
+                    && raster.getDataBuffer().getNumBanks() == 1
+                    && sampleModel instanceof ComponentSampleModel
+                    && sampleModel.getNumBands() == 1
+                    && ((ComponentSampleModel) sampleModel).getPixelStride() == 1) {
+                ComponentSampleModel componentSampleModel = (ComponentSampleModel) sampleModel;
+                DataBufferByte dataBuffer = (DataBufferByte) raster.getDataBuffer();
+                int offset = dataBuffer.getOffset() + componentSampleModel.getOffset(
+                        raster.getMinX() - raster.getSampleModelTranslateX(),
+                        raster.getMinY() - raster.getSampleModelTranslateY());
+                return new GrayPixels(dataBuffer.getData(), offset, componentSampleModel.getScanlineStride(), width, height);
+            }
+
+            // other layouts: copy the first band once
+            int[] samples = raster.getSamples(raster.getMinX(), raster.getMinY(), width, height, 0, (int[]) null);
+            byte[] data = new byte[samples.length];
+            for (int i = 0; i < samples.length; i++) {
+                data[i] = (byte) samples[i];
+            }
+            return new GrayPixels(data, 0, width, width, height);
+        }
+
+        int get(int x, int y) {
+            return data[offset + y * scanlineStride + x] & 0xFF;
+        }
+    }
+
     private PDDocument removeText(PDPage page) throws IOException {
 
         PDFStreamParser parser = new PDFStreamParser(page);
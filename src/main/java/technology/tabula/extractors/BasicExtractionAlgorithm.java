@@ -15,6 +15,20 @@ import technology.tabula.TextChunk;
 import technology.tabula.TextElement;
 
 public class BasicExtractionAlgorithm implements ExtractionAlgorithm {
+
+    private static final Comparator<Ruling> BY_LEFT = new Comparator<Ruling>() {
+        @Override
+        public int compare(Ruling arg0, Ruling arg1) {
+            return Double.compare(arg0.getLeft(), arg1.getLeft());
+        }
+    };
+
+    private static final Comparator<TextChunk> CHUNKS_BY_LEFT = new Comparator<TextChunk>() {
+        @Override
+        public int compare(TextChunk o1, TextChunk o2) {
+            return Float.compare(o1.getLeft(), o2.getLeft());
+        }
+    };
     
     private List<Ruling> verticalRulings = null;
     
@@ -45,22 +59,26 @@ public class BasicExtractionAlgorithm implements ExtractionAlgorithm {
         
         List<TextChunk> textChunks = this.verticalRulings == null ? TextElement.mergeWords(page.getText()) : TextElement.mergeWords(page.getText(), this.verticalRulings);
         List<Line> lines = TextChunk.groupByLines(textChunks);
-        List<Float> columns = null;
+        float[] columns;
         
         if (this.verticalRulings != null) {
-            Collections.sort(this.verticalRulings, new Comparator<Ruling>() {
-                @Override
-                public int compare(Ruling arg0, Ruling arg1) {
-                    return Double.compare(arg0.getLeft(), arg1.getLeft());
-                }
-            });
-            columns = new ArrayList<>(this.verticalRulings.size());
-            for (Ruling vr: this.verticalRulings) {
-                columns.add(vr.getLeft());
+            Collections.sort(this.verticalRulings, BY_LEFT);
+            columns = new float[this.verticalRulings.size()];
+            for (int j = 0; j < columns.length; j++) {
+                columns[j] = this.verticalRulings.get(j).getLeft();
             }
         }
         else {
-            columns = columnPositions(lines);
+            List<Float> positions = columnPositions(lines);
+            columns = new float[positions.size()];
+            for (int j = 0; j < columns.length; j++) {
+                columns[j] = positions.get(j);
+            }
+        }
+        // both are sorted with NaN last, which no left edge is at most
+        int searchableColumns = columns.length;
+        while (searchableColumns > 0 && Float.isNaN(columns[searchableColumns - 1])) {
+            searchableColumns--;
         }
         
         Table table = new Table(this);
@@ -71,34 +89,35 @@ public class BasicExtractionAlgorithm implements ExtractionAlgorithm {
             Line line = lines.get(i);
             List<TextChunk> elements = line.getTextElements();
             
-            Collections.sort(elements, new Comparator<TextChunk>() {
-
-				@Override
-				public int compare(TextChunk o1, TextChunk o2) {
-					return Float.compare(o1.getLeft(), o2.getLeft());
-				}
-			});
+            Collections.sort(elements, CHUNKS_BY_LEFT);
             
             for (TextChunk tc: elements) {
                 if (tc.isSameChar(Line.WHITE_SPACE_CHARS)) {
                     continue;
                 }
 
-                int j = 0;
-                boolean found = false;
-                for(; j < columns.size(); j++) {
-                    if (tc.getLeft() <= columns.get(j)) {
-                        found = true; 
-                        break;
-                    } 
-                }
-                table.add(tc, i, found ? j : columns.size());
+                int j = firstColumnAtOrRightOf(columns, searchableColumns, tc.getLeft());
+                table.add(tc, i, j < searchableColumns ? j : columns.length);
             }
         }
         
         return Arrays.asList(new Table[] { table } );
     }
     
+    // the first of the sorted columns[0 .. count) that left is at most, or count if there is none
+    private static int firstColumnAtOrRightOf(float[] columns, int count, float left) {
+        int low = 0, high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (left <= columns[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
     @Override
     public String toString() {
         return "stream";
@@ -106,12 +125,16 @@ public class BasicExtractionAlgorithm implements ExtractionAlgorithm {
     
     
     /**
+     * Regions start as the chunks of the first line. Each chunk of a later line is merged into
+     * the first region it horizontally overlaps, as that region was when the line started, or
+     * becomes a new region if it overlaps none.
+     *
      * @param lines must be an array of lines sorted by their +top+ attribute
      * @return a list of column boundaries (x axis)
      */
     public static List<java.lang.Float> columnPositions(List<Line> lines) {
 
-        List<Rectangle> regions = new ArrayList<>();
+        ColumnRegions regions = new ColumnRegions();
         for (TextChunk tc: lines.get(0).getTextElements()) {
             if (tc.isSameChar(Line.WHITE_SPACE_CHARS)) { 
                 continue; 
@@ -129,33 +152,28 @@ public class BasicExtractionAlgorithm implements ExtractionAlgorithm {
                 }
             }
             
-            for (Rectangle cr: regions) {
+            int[] firstRegions = new int[lineTextElements.size()];
+            for (int k = 0; k < firstRegions.length; k++) {
+                firstRegions[k] = regions.firstOverlapping(lineTextElements.get(k));
+            }
 
-                List<TextChunk> overlaps = new ArrayList<>();
-                for (TextChunk te: lineTextElements) {
-                    if (cr.horizontallyOverlaps(te)) {
-                        overlaps.add(te);
-                    }
+            // chunks are merged in line order, which the rounding of the merged bounds depends on
+            for (int k = 0; k < firstRegions.length; k++) {
+                if (firstRegions[k] >= 0) {
+                    regions.merge(firstRegions[k], lineTextElements.get(k));
                 }
-                
-                for (TextChunk te: overlaps) {
-                    cr.merge(te);
-                }
-                
-                lineTextElements.removeAll(overlaps);
             }
             
-            for (TextChunk te: lineTextElements) {
-                Rectangle r = new Rectangle();
-                r.setRect(te);
-                regions.add(r);
+            for (int k = 0; k < firstRegions.length; k++) {
+                if (firstRegions[k] < 0) {
+                    Rectangle r = new Rectangle();
+                    r.setRect(lineTextElements.get(k));
+                    regions.add(r);
+                }
             }
         }
         
-        List<java.lang.Float> rv = new ArrayList<>();
-        for (Rectangle r: regions) {
-            rv.add(r.getRight());
-        }
+        List<java.lang.Float> rv = regions.rights();
         
         Collections.sort(rv);
         
@@ -163,4 +181,163 @@ public class BasicExtractionAlgorithm implements ExtractionAlgorithm {
         
     }
 
+    /**
+     * The regions of {@link #columnPositions(List)}, numbered in the order they were added.
+     * <p>
+     * Two intervals overlap when each one's left edge is less than the other's right edge, which
+     * is what {@link Rectangle#horizontallyOverlaps(Rectangle)} computes. So regions that are no
+     * wider than 0 overlap nothing, and the others are kept in order of their left edges, under
+     * a tree of the largest right edge in each range of them. A chunk only visits the ranges that
+     * start left of its right edge and have a region ending right of its left edge.
+     * <p>
+     * Once before the next line is matched, the regions a line added or merged are sorted by left
+     * edge, on primitive keys, and merged back into the others, which are still in order. Then the
+     * tree is rebuilt. Regions with equal left edges may come in any order, as a query picks the
+     * lowest numbered match.
+     */
+    private static final class ColumnRegions {
+
+        private final List<Rectangle> regions = new ArrayList<>();
+        private float[] left = new float[16], right = new float[16];
+
+        // the regions wider than 0, by left edge, once packed
+        private int[] byLeft = new int[16];
+        private int sortedCount;
+        private boolean packed;
+
+        // the regions added or merged since the last pack, and room to sort them
+        private boolean[] moved = new boolean[16];
+        private long[] movedKeys = new long[16];
+
+        // maxRight[1] is the root, and the leaves start at maxRight[leaves]
+        private float[] maxRight;
+        private int leaves;
+
+        void add(Rectangle r) {
+            int region = regions.size();
+            regions.add(r);
+            if (region == left.length) {
+                left = Arrays.copyOf(left, region * 2);
+                right = Arrays.copyOf(right, region * 2);
+                byLeft = Arrays.copyOf(byLeft, region * 2);
+                moved = Arrays.copyOf(moved, region * 2);
+                movedKeys = Arrays.copyOf(movedKeys, region * 2);
+            }
+            left[region] = r.getLeft();
+            right[region] = r.getRight();
+            if (left[region] < right[region]) {
+                byLeft[sortedCount++] = region;
+                moved[region] = true;
+            }
+            packed = false;
+        }
+
+        void merge(int region, TextChunk chunk) {
+            Rectangle r = regions.get(region);
+            r.merge(chunk);
+            left[region] = r.getLeft();
+            right[region] = r.getRight();
+            moved[region] = true;
+            packed = false;
+        }
+
+        /**
+         * @return the first region {@code chunk} horizontally overlaps, or -1 if there is none
+         */
+        int firstOverlapping(TextChunk chunk) {
+            float chunkLeft = chunk.getLeft(), chunkRight = chunk.getRight();
+            if (!(chunkLeft < chunkRight)) {
+                return -1;
+            }
+            if (!packed) {
+                pack();
+            }
+
+            // the regions starting left of the chunk's right edge
+            int low = 0, high = sortedCount;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (left[byLeft[middle]] < chunkRight) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            int first = firstEndingRightOf(1, 0, leaves, low, chunkLeft);
+            return first == Integer.MAX_VALUE ? -1 : first;
+        }
+
+        // the first region at positions [from, to) of node, and before end, ending right of x
+        private int firstEndingRightOf(int node, int from, int to, int end, float x) {
+            if (from >= end || !(maxRight[node] > x)) {
+                return Integer.MAX_VALUE;
+            }
+            if (to - from == 1) {
+                return byLeft[from];
+            }
+            int middle = (from + to) >>> 1;
+            return Math.min(firstEndingRightOf(2 * node, from, middle, end, x),
+                    firstEndingRightOf(2 * node + 1, middle, to, end, x));
+        }
+
+        private void pack() {
+            // the regions that kept their left edges are still in order; the others are sorted apart
+            int kept = 0, movedCount = 0;
+            for (int p = 0; p < sortedCount; p++) {
+                int region = byLeft[p];
+                boolean regionMoved = moved[region];
+                moved[region] = false;
+                if (!(left[region] < right[region])) {
+                    // a merged region's rounded bounds can end up no wider than 0
+                    continue;
+                }
+                if (regionMoved) {
+                    movedKeys[movedCount++] = ((long) sortable(left[region]) << 32) | region;
+                } else {
+                    byLeft[kept++] = region;
+                }
+            }
+            Arrays.sort(movedKeys, 0, movedCount);
+
+            // merge both runs, from the back, so byLeft can hold the kept one
+            sortedCount = kept + movedCount;
+            for (int p = kept - 1, q = movedCount - 1, to = sortedCount - 1; q >= 0; to--) {
+                int region = (int) movedKeys[q];
+                if (p >= 0 && left[byLeft[p]] > left[region]) {
+                    byLeft[to] = byLeft[p--];
+                } else {
+                    byLeft[to] = region;
+                    q--;
+                }
+            }
+
+            leaves = Integer.highestOneBit(Math.max(sortedCount, 1) * 2 - 1);
+            if (maxRight == null || maxRight.length < leaves * 2) {
+                maxRight = new float[leaves * 2];
+            }
+            for (int p = 0; p < leaves; p++) {
+                maxRight[leaves + p] = p < sortedCount ? right[byLeft[p]] : Float.NEGATIVE_INFINITY;
+            }
+            for (int node = leaves - 1; node > 0; node--) {
+                maxRight[node] = Math.max(maxRight[2 * node], maxRight[2 * node + 1]);
+            }
+            packed = true;
+        }
+
+        // the order of Float.compare, as an int; lefts here are never NaN
+        private static int sortable(float f) {
+            int bits = Float.floatToIntBits(f);
+            return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+        }
+
+        List<java.lang.Float> rights() {
+            List<java.lang.Float> rv = new ArrayList<>();
+            for (Rectangle r: regions) {
+                rv.add(r.getRight());
+            }
+            return rv;
+        }
+
+    }
+
 }
@@ -36,6 +36,20 @@ public class SpreadsheetExtractionAlgorithm implements ExtractionAlgorithm {
         return Float.compare(d1Rounded, d2Rounded);
     }
     
+    private final boolean textInPageOrder;
+
+    public SpreadsheetExtractionAlgorithm() {
+        this(false);
+    }
+
+    /**
+     * @param textInPageOrder take each cell's text in page order with {@link Page#getTextInPageOrder(Rectangle)},
+     *                        instead of sorting it per cell with {@link Page#getText(Rectangle)}
+     */
+    public SpreadsheetExtractionAlgorithm(boolean textInPageOrder) {
+        this.textInPageOrder = textInPageOrder;
+    }
+    
     @Override
     public List<Table> extract(Page page) {
         return extract(page, page.getRulings());
@@ -63,14 +77,23 @@ public class SpreadsheetExtractionAlgorithm implements ExtractionAlgorithm {
         List<Cell> cells = findCells(horizontalR, verticalR);
         List<Rectangle> spreadsheetAreas = findSpreadsheetsFromCells(cells);
         
+        List<Cell> cellsInAreas = new ArrayList<>();
+        for (Cell c: cells) {
+            for (Rectangle area: spreadsheetAreas) {
+                if (c.intersects(area)) {
+                    cellsInAreas.add(c);
+                    break;
+                }
+            }
+        }
+        setTextElements(page, cellsInAreas);
+
         List<Table> spreadsheets = new ArrayList<>();
         for (Rectangle area: spreadsheetAreas) {
 
             List<Cell> overlappingCells = new ArrayList<>();
             for (Cell c: cells) {
                 if (c.intersects(area)) {
-
-                    c.setTextElements(TextElement.mergeWords(page.getText(c)));
                     overlappingCells.add(c);
                 }
             }
@@ -95,6 +118,127 @@ public class SpreadsheetExtractionAlgorithm implements ExtractionAlgorithm {
         return spreadsheets;
     }
     
+    /**
+     * Sets the text of each cell to what {@code TextElement.mergeWords(page.getText(cell))} returns, with
+     * a single query of the page's text index instead of one per cell.
+     * <p>
+     * The text is swept against the grid of all cell boundaries: a glyph inside of a cell has its center
+     * in one of the grid slots that the cell covers, so each glyph is only tested against the few cells
+     * of its slot. Glyphs arrive in page order and are appended to their cells in that order, the order
+     * in which the index finds them, so sorting a cell's few glyphs gives the same result as
+     * {@link Page#getText(Rectangle)}.
+     */
+    @SuppressWarnings("deprecation")
+    private void setTextElements(Page page, List<Cell> cells) {
+        if (cells.isEmpty()) {
+            return;
+        }
+
+        double[] xs = new double[cells.size() * 2];
+        double[] ys = new double[cells.size() * 2];
+        for (int i = 0; i < cells.size(); i++) {
+            Cell c = cells.get(i);
+            xs[2 * i] = c.getX();
+            xs[2 * i + 1] = c.getX() + c.getWidth();
+            ys[2 * i] = c.getY();
+            ys[2 * i + 1] = c.getY() + c.getHeight();
+        }
+        xs = distinctSorted(xs);
+        ys = distinctSorted(ys);
+        int columns = Math.max(xs.length - 1, 1);
+        int rows = Math.max(ys.length - 1, 1);
+
+        // the cells covering slot s are slotCells[slotStart[s] .. slotStart[s + 1])
+        int[] slotStart = new int[columns * rows + 1];
+        int[][] span = new int[cells.size()][];
+        for (int i = 0; i < cells.size(); i++) {
+            Cell c = cells.get(i);
+            int fromColumn = slot(xs, c.getX(), columns), fromRow = slot(ys, c.getY(), rows);
+            span[i] = new int[] {
+                    fromColumn, Math.max(lastSlot(xs, c.getX() + c.getWidth(), columns), fromColumn),
+                    fromRow, Math.max(lastSlot(ys, c.getY() + c.getHeight(), rows), fromRow) };
+            for (int row = span[i][2]; row <= span[i][3]; row++) {
+                for (int column = span[i][0]; column <= span[i][1]; column++) {
+                    slotStart[row * columns + column + 1]++;
+                }
+            }
+        }
+        for (int s = 0; s < columns * rows; s++) {
+            slotStart[s + 1] += slotStart[s];
+        }
+        int[] slotCells = new int[slotStart[columns * rows]];
+        int[] next = Arrays.copyOf(slotStart, columns * rows);
+        for (int i = 0; i < cells.size(); i++) {
+            for (int row = span[i][2]; row <= span[i][3]; row++) {
+                for (int column = span[i][0]; column <= span[i][1]; column++) {
+                    slotCells[next[row * columns + column]++] = i;
+                }
+            }
+        }
+
+        List<List<TextElement>> cellTexts = new ArrayList<>(cells.size());
+        for (int i = 0; i < cells.size(); i++) {
+            cellTexts.add(new ArrayList<TextElement>());
+        }
+        // a glyph on a grid line is looked up in the slots on both sides, and must only be added once
+        int[] lastGlyph = new int[cells.size()];
+        Arrays.fill(lastGlyph, -1);
+
+        Rectangle bounds = new Rectangle((float) ys[0] - 1, (float) xs[0] - 1,
+                (float) (xs[xs.length - 1] - xs[0]) + 2, (float) (ys[ys.length - 1] - ys[0]) + 2);
+        List<TextElement> glyphs = page.getTextInPageOrder(bounds);
+        for (int g = 0; g < glyphs.size(); g++) {
+            TextElement te = glyphs.get(g);
+            double centerX = te.getX() + te.getWidth() / 2;
+            double centerY = te.getY() + te.getHeight() / 2;
+            int column = Arrays.binarySearch(xs, centerX);
+            int row = Arrays.binarySearch(ys, centerY);
+            int fromColumn = column >= 0 ? column - 1 : -column - 2, toColumn = column >= 0 ? column : -column - 2;
+            int fromRow = row >= 0 ? row - 1 : -row - 2, toRow = row >= 0 ? row : -row - 2;
+            for (int r = Math.max(fromRow, 0); r <= Math.min(toRow, rows - 1); r++) {
+                for (int col = Math.max(fromColumn, 0); col <= Math.min(toColumn, columns - 1); col++) {
+                    int s = r * columns + col;
+                    for (int k = slotStart[s]; k < slotStart[s + 1]; k++) {
+                        int i = slotCells[k];
+                        if (lastGlyph[i] != g && cells.get(i).contains(te)) {
+                            lastGlyph[i] = g;
+                            cellTexts.get(i).add(te);
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < cells.size(); i++) {
+            List<TextElement> cellText = cellTexts.get(i);
+            if (!textInPageOrder) {
+                Utils.sort(cellText, Rectangle.ILL_DEFINED_ORDER);
+            }
+            cells.get(i).setTextElements(TextElement.mergeWords(cellText));
+        }
+    }
+
+    private static double[] distinctSorted(double[] values) {
+        Arrays.sort(values);
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (count == 0 || values[i] != values[count - 1]) {
+                values[count++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    // the slot that starts at boundary value v
+    private static int slot(double[] boundaries, double v, int slots) {
+        return Math.min(Arrays.binarySearch(boundaries, v), slots - 1);
+    }
+
+    // the last slot before boundary value v
+    private static int lastSlot(double[] boundaries, double v, int slots) {
+        return Math.min(Arrays.binarySearch(boundaries, v) - 1, slots - 1);
+    }
+
     public boolean isTabular(Page page) {
         
         // if there's no text at all on the page, it's not a table 
@@ -107,7 +251,7 @@ public class SpreadsheetExtractionAlgorithm implements ExtractionAlgorithm {
         // removes white "margins")
         Page minimalRegion = page.getArea(Utils.bounds(page.getText()));
         
-        List<? extends Table> tables = new SpreadsheetExtractionAlgorithm().extract(minimalRegion);
+        List<? extends Table> tables = new SpreadsheetExtractionAlgorithm(textInPageOrder).extract(minimalRegion);
         if (tables.isEmpty()) {
             return false;
         }
@@ -131,42 +275,32 @@ public class SpreadsheetExtractionAlgorithm implements ExtractionAlgorithm {
     
     public static List<Cell> findCells(List<Ruling> horizontalRulingLines, List<Ruling> verticalRulingLines) {
         List<Cell> cellsFound = new ArrayList<>();
-        Map<Point2D, Ruling[]> intersectionPoints = Ruling.findIntersections(horizontalRulingLines, verticalRulingLines);
-        List<Point2D> intersectionPointsList = new ArrayList<>(intersectionPoints.keySet());
-        intersectionPointsList.sort(Y_FIRST_POINT_COMPARATOR);
-        
-        for (int i = 0; i < intersectionPointsList.size(); i++) {
-            Point2D topLeft = intersectionPointsList.get(i);
-            Ruling[] hv = intersectionPoints.get(topLeft);
+        RulingIntersections intersections = Ruling.findRulingIntersections(horizontalRulingLines, verticalRulingLines);
 
-            List<Point2D> xPoints = new ArrayList<>();
-            List<Point2D> yPoints = new ArrayList<>();
+        // visit the intersections like Y_FIRST_POINT_COMPARATOR sorts their points: by rounded
+        // coordinates, and in their own order (by y, then x) where those are equal
+        int[] topLefts = sortByRoundedPosition(intersections);
 
-            for (Point2D p: intersectionPointsList.subList(i, intersectionPointsList.size())) {
-                if (p.getX() == topLeft.getX() && p.getY() > topLeft.getY()) {
-                    xPoints.add(p);
-                }
-                if (p.getY() == topLeft.getY() && p.getX() > topLeft.getX()) {
-                    yPoints.add(p);
-                }
-            }
+        for (int topLeft: topLefts) {
+            // the intersections below topLeft
             outer:
-            for (Point2D xPoint: xPoints) {
+            for (int xPoint = intersections.nextInColumn(topLeft); xPoint >= 0; xPoint = intersections.nextInColumn(xPoint)) {
 
                 // is there a vertical edge b/w topLeft and xPoint?
-                if (!hv[1].equals(intersectionPoints.get(xPoint)[1])) {
+                if (!intersections.getVertical(topLeft).equals(intersections.getVertical(xPoint))) {
                     continue;
                 }
-                for (Point2D yPoint: yPoints) {
+                // the intersections right of topLeft
+                for (int yPoint = intersections.nextInRow(topLeft); yPoint >= 0; yPoint = intersections.nextInRow(yPoint)) {
                     // is there an horizontal edge b/w topLeft and yPoint ?
-                    if (!hv[0].equals(intersectionPoints.get(yPoint)[0])) {
+                    if (!intersections.getHorizontal(topLeft).equals(intersections.getHorizontal(yPoint))) {
                         continue;
                     }
-                    Point2D btmRight = new Point2D.Float((float) yPoint.getX(), (float) xPoint.getY());
-                    if (intersectionPoints.containsKey(btmRight) 
-                            && intersectionPoints.get(btmRight)[0].equals(intersectionPoints.get(xPoint)[0])
-                            && intersectionPoints.get(btmRight)[1].equals(intersectionPoints.get(yPoint)[1])) {
-                            cellsFound.add(new Cell(topLeft, btmRight));
+                    int btmRight = intersections.indexOf(intersections.getX(yPoint), intersections.getY(xPoint));
+                    if (btmRight >= 0
+                            && intersections.getHorizontal(btmRight).equals(intersections.getHorizontal(xPoint))
+                            && intersections.getVertical(btmRight).equals(intersections.getVertical(yPoint))) {
+                        cellsFound.add(new Cell(intersections.getPoint(topLeft), intersections.getPoint(btmRight)));
                         break outer;
                     }
                 }
@@ -180,6 +314,38 @@ public class SpreadsheetExtractionAlgorithm implements ExtractionAlgorithm {
         return cellsFound;
     }
     
+    // the intersections by rounded y, then rounded x, then index
+    private static int[] sortByRoundedPosition(RulingIntersections intersections) {
+        int count = intersections.size();
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = pack(sortable(Utils.round(intersections.getX(i), 2)), i);
+        }
+        Arrays.sort(keys);
+        // the rank of an x breaks ties by index, so it stands for both in the y keys
+        int[] byXRank = new int[count];
+        for (int rank = 0; rank < count; rank++) {
+            byXRank[rank] = (int) keys[rank];
+            keys[rank] = pack(sortable(Utils.round(intersections.getY(byXRank[rank]), 2)), rank);
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[count];
+        for (int k = 0; k < count; k++) {
+            sorted[k] = byXRank[(int) keys[k]];
+        }
+        return sorted;
+    }
+
+    // the high half orders like the float, the low half is a non-negative int
+    private static long pack(int sortable, int low) {
+        return ((long) sortable << 32) | low;
+    }
+
+    private static int sortable(float f) {
+        int bits = Float.floatToIntBits(f);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+
     public static List<Rectangle> findSpreadsheetsFromCells(List<? extends Rectangle> cells) {
         // via: http://stackoverflow.com/questions/13746284/merging-multiple-adjacent-rectangles-into-one-polygon
         List<Rectangle> rectangles = new ArrayList<>();
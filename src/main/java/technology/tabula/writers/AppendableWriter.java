@@ -0,0 +1,60 @@
+package technology.tabula.writers;
+
+import java.io.IOException;
+
+/**
+ * Adapts an {@link Appendable} to a {@link java.io.Writer}, so that
+ * stream-based serializers can write to it directly.
+ */
+final class AppendableWriter extends java.io.Writer {
+
+    private final Appendable out;
+
+    private AppendableWriter(Appendable out) {
+        this.out = out;
+    }
+
+    static java.io.Writer of(Appendable out) {
+        return out instanceof java.io.Writer ? (java.io.Writer) out : new AppendableWriter(out);
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        out.append(java.nio.CharBuffer.wrap(buffer, offset, length));
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        out.append((char) c);
+    }
+
+    @Override
+    public void write(String str, int offset, int length) throws IOException {
+        out.append(str, offset, offset + length);
+    }
+
+    @Override
+    public java.io.Writer append(CharSequence csq) throws IOException {
+        out.append(csq);
+        return this;
+    }
+
+    @Override
+    public java.io.Writer append(CharSequence csq, int start, int end) throws IOException {
+        out.append(csq, start, end);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out instanceof java.io.Flushable) {
+            ((java.io.Flushable) out).flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+}
@@ -11,10 +11,13 @@ import org.apache.commons.csv.CSVFormat;
 import technology.tabula.RectangularTextContainer;
 import technology.tabula.Table;
 
-public class CSVWriter implements Writer {
+public class CSVWriter implements StreamingWriter {
 
 	private final CSVFormat format;
 
+	// the output of begin() .. end() only
+	private CSVPrinter printer;
+
     public CSVWriter() {
         this(CSVFormat.EXCEL);
     }
@@ -33,15 +36,50 @@ public class CSVWriter implements Writer {
     public void write(Appendable out, List<Table> tables) throws IOException {
         try (CSVPrinter printer = new CSVPrinter(out, format)) {
             for (Table table : tables) {
-                for (List<RectangularTextContainer> row : table.getRows()) {
-                    List<String> cells = new ArrayList<>(row.size());
-                    for (RectangularTextContainer<?> cell : row)
-                    	cells.add(cell.getText());
-                    printer.printRecord(cells);
-                }
+                printTable(printer, table);
             }
             printer.flush();
         }
     }
 
+    @Override
+    public void begin(Appendable out) throws IOException {
+        if (printer != null) {
+            throw new IllegalStateException("begin() called twice without end()");
+        }
+        printer = new CSVPrinter(out, format);
+    }
+
+    @Override
+    public void writeTable(Table table) throws IOException {
+        if (printer == null) {
+            throw new IllegalStateException("writeTable() called before begin()");
+        }
+        printTable(printer, table);
+        printer.flush();
+    }
+
+    @Override
+    public void end() throws IOException {
+        if (printer == null) {
+            throw new IllegalStateException("end() called before begin()");
+        }
+        try (CSVPrinter toClose = printer) {
+            printer = null;
+            toClose.flush();
+        }
+    }
+
+	// - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
+    private static void printTable(CSVPrinter printer, Table table) throws IOException {
+        Table.RowCursor rows = table.rowCursor();
+        List<String> cells = new ArrayList<>();
+        while (rows.next()) {
+            cells.clear();
+            for (RectangularTextContainer<?> cell : rows.getCells())
+            	cells.add(cell.getText());
+            printer.printRecord(cells);
+        }
+    }
+
 }
@@ -1,61 +1,121 @@
 package technology.tabula.writers;
 
-import com.google.gson.ExclusionStrategy;
-import com.google.gson.FieldAttributes;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
 
-import technology.tabula.Cell;
 import technology.tabula.RectangularTextContainer;
 import technology.tabula.Table;
-import technology.tabula.TextChunk;
 import technology.tabula.json.RectangularTextContainerSerializer;
 import technology.tabula.json.TableSerializer;
 
 import java.io.IOException;
 import java.util.List;
 
-import static java.lang.reflect.Modifier.PUBLIC;
+/**
+ * Writes tables as JSON, in the schema of {@link TableSerializer} and
+ * {@link RectangularTextContainerSerializer}.
+ * <p>
+ * Tables are streamed straight to the output with a Gson {@link JsonWriter},
+ * without building an intermediate JSON tree or string.
+ * {@link #write(Appendable, Table)} and {@link #write(Appendable, List)} keep no
+ * state between calls and may be used from several threads; the incremental
+ * {@link #begin(Appendable)}/{@link #writeTable(Table)}/{@link #end()} calls may not.
+ */
+public class JSONWriter implements StreamingWriter {
 
-public class JSONWriter implements Writer {
+    /**
+     * Only makes the {@link JsonWriter}s, which it configures like Gson's own output.
+     * The tables are written field by field, so no type adapters are registered.
+     */
+    private static final Gson GSON = new Gson();
 
-    private static final ExclusionStrategy ALL_CLASSES_SKIPPING_NON_PUBLIC_FIELDS = new ExclusionStrategy() {
-        @Override
-        public boolean shouldSkipClass(Class<?> c) {
-            return false;
-        }
-
-        @Override
-        public boolean shouldSkipField(FieldAttributes fieldAttributes) {
-            return !fieldAttributes.hasModifier(PUBLIC);
-        }
-    };
+    private JsonWriter jsonWriter;
 
     // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
     @Override
     public void write(Appendable out, Table table) throws IOException {
-        out.append(gson().toJson(table, Table.class));
+        JsonWriter writer = newJsonWriter(out);
+        writeTable(writer, table);
+        writer.flush();
     }
 
     @Override
     public void write(Appendable out, List<Table> tables) throws IOException {
-        Gson gson = gson();
-        JsonArray jsonElements = new JsonArray();
+        JsonWriter writer = newJsonWriter(out);
+        writer.beginArray();
         for (Table table : tables)
-            jsonElements.add(gson.toJsonTree(table, Table.class));
-        out.append(gson.toJson(jsonElements));
+            writeTable(writer, table);
+        writer.endArray();
+        writer.flush();
+    }
+
+    @Override
+    public void begin(Appendable out) throws IOException {
+        if (jsonWriter != null) {
+            throw new IllegalStateException("begin() called twice without end()");
+        }
+        jsonWriter = newJsonWriter(out);
+        jsonWriter.beginArray();
+    }
+
+    @Override
+    public void writeTable(Table table) throws IOException {
+        if (jsonWriter == null) {
+            throw new IllegalStateException("writeTable() called before begin()");
+        }
+        writeTable(jsonWriter, table);
+        jsonWriter.flush();
+    }
+
+    @Override
+    public void end() throws IOException {
+        if (jsonWriter == null) {
+            throw new IllegalStateException("end() called before begin()");
+        }
+        jsonWriter.endArray();
+        jsonWriter.flush();
+        jsonWriter = null;
     }
 
     // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - //
-    private static Gson gson() {
-        return new GsonBuilder()
-                .addSerializationExclusionStrategy(ALL_CLASSES_SKIPPING_NON_PUBLIC_FIELDS)
-                .registerTypeAdapter(Table.class, TableSerializer.INSTANCE)
-                .registerTypeAdapter(RectangularTextContainer.class, RectangularTextContainerSerializer.INSTANCE)
-                .registerTypeAdapter(Cell.class, RectangularTextContainerSerializer.INSTANCE)
-                .registerTypeAdapter(TextChunk.class, RectangularTextContainerSerializer.INSTANCE)
-                .create();
+    private static JsonWriter newJsonWriter(Appendable out) throws IOException {
+        JsonWriter writer = GSON.newJsonWriter(AppendableWriter.of(out));
+        // like Gson.toJson(JsonElement), allow NaN and infinite coordinates
+        writer.setStrictness(Strictness.LENIENT);
+        return writer;
+    }
+
+    private static void writeTable(JsonWriter writer, Table table) throws IOException {
+        writer.beginObject();
+        writer.name("extraction_method").value(table.getExtractionMethod());
+        writer.name("page_number").value(table.getPageNumber());
+        writer.name("top").value(table.getTop());
+        writer.name("left").value(table.getLeft());
+        writer.name("width").value(table.getWidth());
+        writer.name("height").value(table.getHeight());
+        writer.name("right").value(table.getRight());
+        writer.name("bottom").value(table.getBottom());
+        writer.name("data").beginArray();
+        Table.RowCursor rows = table.rowCursor();
+        while (rows.next()) {
+            writer.beginArray();
+            for (RectangularTextContainer<?> textChunk : rows.getCells())
+                writeTextContainer(writer, textChunk);
+            writer.endArray();
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    private static void writeTextContainer(JsonWriter writer, RectangularTextContainer<?> textContainer) throws IOException {
+        writer.beginObject();
+        writer.name("top").value(textContainer.getTop());
+        writer.name("left").value(textContainer.getLeft());
+        writer.name("width").value(textContainer.getWidth());
+        writer.name("height").value(textContainer.getHeight());
+        writer.name("text").value(textContainer.getText());
+        writer.endObject();
     }
 
 }
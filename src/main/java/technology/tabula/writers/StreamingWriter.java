@@ -0,0 +1,26 @@
+package technology.tabula.writers;
+
+import java.io.IOException;
+
+import technology.tabula.Table;
+
+/**
+ * A {@link Writer} that can also output tables one at a time, as they are extracted.
+ * The output is the same as {@link #write(Appendable, java.util.List)} of all the tables.
+ * <p>
+ * A writer holds one streamed output at a time, so these calls must not be shared by threads.
+ */
+public interface StreamingWriter extends Writer {
+
+    /**
+     * Starts a streamed output of several tables to {@code out}.
+     * Tables are then passed one at a time to {@link #writeTable(Table)},
+     * and the output is completed by {@link #end()}.
+     */
+    void begin(Appendable out) throws IOException;
+
+    void writeTable(Table table) throws IOException;
+
+    void end() throws IOException;
+
+}
@@ -2,6 +2,10 @@ package technology.tabula;
 
 import static org.junit.Assert.*;
 
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Test;
 
 public class TableTest {
@@ -42,4 +46,90 @@ public class TableTest {
 		assertEquals(10, table.getColCount());
 	}
 
+	@Test public void testCellsGrowOnDemand() {
+		Table table = Table.empty();
+		TextChunk first = new TextChunk(0, 0, 10, 10);
+		TextChunk last = new TextChunk(20, 30, 10, 10);
+		TextChunk merged = new TextChunk(0, 20, 10, 10);
+
+		table.add(last, 2, 3);
+		table.add(first, 0, 0);
+		table.add(merged, 0, 0);
+
+		assertSame(merged, table.getCell(0, 0));
+		assertEquals(0, merged.getLeft(), 0);
+		assertSame(last, table.getCell(2, 3));
+		assertEquals(TextChunk.EMPTY, table.getCell(1, 3));
+		assertEquals(TextChunk.EMPTY, table.getCell(0, 3));
+		assertEquals(TextChunk.EMPTY, table.getCell(3, 0));
+		assertEquals(TextChunk.EMPTY, table.getCell(-1, 0));
+		assertEquals(Arrays.asList(merged, last), table.cells.values());
+
+		List<List<RectangularTextContainer>> rows = table.getRows();
+		assertEquals(3, rows.size());
+		assertEquals(Arrays.asList(merged, TextChunk.EMPTY, TextChunk.EMPTY, TextChunk.EMPTY), rows.get(0));
+		assertEquals(Arrays.asList(TextChunk.EMPTY, TextChunk.EMPTY, TextChunk.EMPTY, last), rows.get(2));
+	}
+
+	@Test public void testRejectedAddLeavesTableUnchanged() {
+		Table table = Table.empty();
+		table.add(new TextChunk(0, 0, 10, 10), 0, 0);
+		Rectangle2D bounds = table.getBounds2D();
+
+		try {
+			table.add(new TextChunk(50, 50, 10, 10), -1, 2);
+			fail("expected an IndexOutOfBoundsException");
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+
+		assertEquals(bounds, table.getBounds2D());
+		assertEquals(1, table.getRowCount());
+		assertEquals(1, table.getColCount());
+	}
+
+	@Test public void testAddWithinTheRowsUpdatesThemInPlace() {
+		Table table = Table.empty();
+		table.add(new TextChunk(0, 0, 10, 10), 0, 0);
+		table.add(new TextChunk(20, 30, 10, 10), 1, 1);
+		List<List<RectangularTextContainer>> rows = table.getRows();
+
+		TextChunk inside = new TextChunk(20, 0, 10, 10);
+		table.add(inside, 1, 0);
+		assertSame(rows, table.getRows());
+		assertSame(inside, rows.get(1).get(0));
+
+		table.add(new TextChunk(40, 0, 10, 10), 2, 0);
+		assertNotSame(rows, table.getRows());
+		assertEquals(3, table.getRows().size());
+	}
+
+	@Test public void testRowCursor() {
+		Table table = Table.empty();
+		TextChunk first = new TextChunk(0, 0, 10, 10);
+		TextChunk last = new TextChunk(20, 30, 10, 10);
+		table.add(first, 0, 0);
+		table.add(last, 2, 3);
+
+		Table.RowCursor padded = table.rowCursor();
+		for (List<RectangularTextContainer> row : table.getRows()) {
+			assertTrue(padded.next());
+			assertEquals(row, padded.getCells());
+		}
+		assertFalse(padded.next());
+		assertFalse(padded.next());
+
+		Table.RowCursor unpadded = table.rowCursor(false);
+		assertTrue(unpadded.next());
+		assertEquals(0, unpadded.getRow());
+		assertEquals(Arrays.asList(first), unpadded.getCells());
+		assertEquals(0, unpadded.getColumn(0));
+		assertTrue(unpadded.next());
+		assertTrue(unpadded.getCells().isEmpty());
+		assertTrue(unpadded.next());
+		assertEquals(Arrays.asList(last), unpadded.getCells());
+		assertEquals(3, unpadded.getColumn(0));
+		assertFalse(unpadded.next());
+	}
+
 }
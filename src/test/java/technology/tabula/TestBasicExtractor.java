@@ -6,6 +6,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.csv.CSVFormat;
@@ -349,4 +350,74 @@ public class TestBasicExtractor {
         assertEquals(expectedCsv, sb.toString());
     }
 
+    @Test
+    public void testChunksGoToTheFirstColumnAtOrRightOfThem() throws IOException {
+        Page page = UtilsForTesting.getPage(EU_002_PDF, 1);
+        List<Float> columns = Arrays.asList(300f, 120f, 200f, 400f);
+        Table table = new BasicExtractionAlgorithm().extract(page, columns).get(0);
+        float[] sorted = { 120f, 200f, 300f, 400f };
+
+        int chunks = 0;
+        for (int i = 0; i < table.getRowCount(); i++) {
+            for (int j = 0; j < table.getColCount(); j++) {
+                RectangularTextContainer cell = table.getCell(i, j);
+                if (cell == TextChunk.EMPTY) {
+                    continue;
+                }
+                chunks++;
+                float left = cell.getLeft();
+                if (j < sorted.length) {
+                    assertTrue(left <= sorted[j]);
+                }
+                if (j > 0) {
+                    assertTrue(left > sorted[j - 1]);
+                }
+            }
+        }
+        assertTrue(chunks > 0);
+        assertEquals(sorted.length + 1, table.getColCount());
+        page.getPDDoc().close();
+    }
+
+    @Test
+    public void testColumnPositionsMergeChunksIntoTheFirstOverlappingRegion() {
+        Line first = new Line(), second = new Line(), third = new Line();
+        first.addTextChunk(chunkAt(0f, 0f, 10f));
+        first.addTextChunk(chunkAt(0f, 20f, 10f));
+        first.addTextChunk(chunkAt(0f, 5f, 20f));
+        // overlaps all three regions, and only widens the first
+        second.addTextChunk(chunkAt(10f, 8f, 14f));
+        second.addTextChunk(chunkAt(10f, 40f, 0f));
+        // overlaps the widened first region, not the region of width 0
+        third.addTextChunk(chunkAt(20f, 21f, 8f));
+        third.addTextChunk(chunkAt(20f, 39f, 2f));
+
+        List<Float> columns = BasicExtractionAlgorithm.columnPositions(Arrays.asList(first, second, third));
+
+        assertEquals(Arrays.asList(25f, 29f, 30f, 40f, 41f), columns);
+    }
+
+    @Test
+    public void testColumnPositionsKeepRegionsInOrderAsTheyGrowLeftwards() {
+        Line first = new Line(), second = new Line(), third = new Line(), fourth = new Line();
+        first.addTextChunk(chunkAt(0f, 50f, 10f));
+        first.addTextChunk(chunkAt(0f, 70f, 10f));
+        // a new region left of the others, and the second one widened leftwards
+        second.addTextChunk(chunkAt(10f, 10f, 5f));
+        second.addTextChunk(chunkAt(10f, 65f, 7f));
+        // the first region grows leftwards, and another new region starts the page
+        third.addTextChunk(chunkAt(20f, 30f, 22f));
+        third.addTextChunk(chunkAt(20f, 0f, 5f));
+        // overlaps the region of the second line and the first region, and goes to the first one
+        fourth.addTextChunk(chunkAt(30f, 12f, 21f));
+
+        List<Float> columns = BasicExtractionAlgorithm.columnPositions(Arrays.asList(first, second, third, fourth));
+
+        assertEquals(Arrays.asList(5f, 15f, 60f, 80f), columns);
+    }
+
+    private static TextChunk chunkAt(float top, float left, float width) {
+        return new TextChunk(new TextElement(top, left, width, 8f, null, 8f, "x", 2f));
+    }
+
 }
@@ -14,6 +14,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+
 public class TestCommandLineApp {
 
     @Rule
@@ -42,6 +45,27 @@ public class TestCommandLineApp {
         }));
     }
 
+    @Test
+    public void testFailedPageLeavesWellFormedJson() throws ParseException {
+        String[] args = new String[]{
+                "src/test/resources/technology/tabula/spreadsheet_no_bounding_frame.pdf",
+                "-p", "1,99", "-f", "JSON"
+        };
+        CommandLine cmd = new DefaultParser().parse(CommandLineApp.buildOptions(), args);
+        StringBuilder stringBuilder = new StringBuilder();
+
+        try {
+            new CommandLineApp(stringBuilder, cmd).extractTables(cmd);
+            fail("page 99 doesn't exist");
+        } catch (IndexOutOfBoundsException e) {
+            // the tables of page 1 were written before page 99 failed
+        }
+
+        JsonArray tables = JsonParser.parseString(stringBuilder.toString()).getAsJsonArray();
+        assertTrue(tables.size() > 0);
+        assertEquals(1, tables.get(0).getAsJsonObject().get("page_number").getAsInt());
+    }
+
     @Test
     public void testExtractBatchSpreadsheetWithArea() throws ParseException, IOException {
         FileSystem fs = FileSystems.getDefault();
@@ -216,4 +240,26 @@ public class TestCommandLineApp {
         assertEquals(expectedJson, resultJson);
     }
 
+    @Test
+    public void testExtractWithThreads() throws ParseException {
+        String[] args = new String[]{
+                "src/test/resources/technology/tabula/schools.pdf",
+                "-p", "all", "-f", "CSV"
+        };
+        String[] threadedArgs = new String[]{
+                "src/test/resources/technology/tabula/schools.pdf",
+                "-p", "all", "-f", "CSV", "--threads", "3"
+        };
+
+        assertEquals(this.csvFromCommandLineArgs(args), this.csvFromCommandLineArgs(threadedArgs));
+    }
+
+    @Test(expected = ParseException.class)
+    public void testInvalidThreads() throws ParseException {
+        this.csvFromCommandLineArgs(new String[]{
+                "src/test/resources/technology/tabula/schools.pdf",
+                "--threads", "0"
+        });
+    }
+
 }
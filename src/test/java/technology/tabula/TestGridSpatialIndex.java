@@ -0,0 +1,138 @@
+package technology.tabula;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.Test;
+
+import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
+
+public class TestGridSpatialIndex {
+
+	@Test
+	public void testIntersects() {
+
+		Rectangle r = new Rectangle(0, 0, 0, 0);
+
+		GridSpatialIndex<Rectangle> gridSpatialIndex = new GridSpatialIndex<>();
+		gridSpatialIndex.add(r);
+
+		assertTrue(gridSpatialIndex.intersects(r).size() > 0);
+
+	}
+
+	@Test
+	public void testRectangleSpanningCellsIsFoundOnce() {
+		GridSpatialIndex<Rectangle> gridSpatialIndex = new GridSpatialIndex<>();
+		for (int i = 0; i < 100; i++) {
+			gridSpatialIndex.add(new Rectangle(i * 10, i * 10, 5, 5));
+		}
+		Rectangle large = new Rectangle(0, 0, 1000, 1000);
+		gridSpatialIndex.add(large);
+
+		List<Rectangle> found = gridSpatialIndex.intersects(new Rectangle(100, 100, 300, 300));
+		assertEquals(32, found.size());
+		assertSame(large, found.get(found.size() - 1));
+		assertEquals(101, gridSpatialIndex.contains(new Rectangle(-1, -1, 1002, 1002)).size());
+		assertTrue(gridSpatialIndex.contains(new Rectangle(2000, 2000, 10, 10)).isEmpty());
+	}
+
+	@Test
+	public void testContainsFindsSameTextAsRectangleSpatialIndex() throws IOException {
+		Page page = UtilsForTesting.getPage("src/test/resources/technology/tabula/spanning_cells.pdf", 1);
+		RectangleSpatialIndex<TextElement> rectangleSpatialIndex = new RectangleSpatialIndex<>();
+		GridSpatialIndex<TextElement> gridSpatialIndex = new GridSpatialIndex<>();
+		for (TextElement te : page.getText()) {
+			rectangleSpatialIndex.add(te);
+			gridSpatialIndex.add(te);
+		}
+
+		List<? extends Rectangle> cells = SpreadsheetExtractionAlgorithm.findCells(page.getHorizontalRulings(), page.getVerticalRulings());
+		assertFalse(cells.isEmpty());
+		for (Rectangle cell : cells) {
+			assertEquals(rectangleSpatialIndex.contains(cell).size(), gridSpatialIndex.contains(cell).size());
+			assertTrue(rectangleSpatialIndex.contains(cell).containsAll(gridSpatialIndex.contains(cell)));
+		}
+		assertEquals(rectangleSpatialIndex.getBounds(), gridSpatialIndex.getBounds());
+	}
+
+	@Test
+	public void testContainsInOrderKeepsAddedOrder() {
+		List<Rectangle> rectangles = Arrays.asList(new Rectangle(50, 0, 10, 10), new Rectangle(0, 50, 10, 10), new Rectangle(0, 0, 10, 10));
+		RectangleSpatialIndex<Rectangle> rectangleSpatialIndex = new RectangleSpatialIndex<>();
+		for (Rectangle r : rectangles) {
+			rectangleSpatialIndex.add(r);
+		}
+		Rectangle all = new Rectangle(-1, -1, 100, 100);
+
+		assertEquals(rectangles, GridSpatialIndex.of(rectangles).containsInOrder(all));
+		assertEquals(rectangles, rectangleSpatialIndex.containsInOrder(all));
+		assertEquals(rectangles.subList(1, 3), rectangleSpatialIndex.containsInOrder(new Rectangle(-1, -1, 100, 20)));
+	}
+
+	@Test
+	public void testTextInPageOrderFollowsPageText() throws IOException {
+		try (PDDocument document = Loader.loadPDF(new File("src/test/resources/technology/tabula/spanning_cells.pdf"))) {
+			for (boolean columnar : new boolean[] { false, true }) {
+				Page page = new ObjectExtractor(document, columnar).extract(1);
+				List<? extends Rectangle> cells = SpreadsheetExtractionAlgorithm.findCells(page.getHorizontalRulings(), page.getVerticalRulings());
+				assertFalse(cells.isEmpty());
+				for (Rectangle cell : cells) {
+					List<TextElement> expected = new ArrayList<>();
+					for (TextElement te : page.getText()) {
+						if (cell.contains(te)) {
+							expected.add(te);
+						}
+					}
+					assertEquals(expected, page.getTextInPageOrder(cell));
+				}
+			}
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBulkLoadedIndexIsImmutable() {
+		GridSpatialIndex<Rectangle> gridSpatialIndex = GridSpatialIndex.of(Arrays.asList(new Rectangle(0, 0, 10, 10)));
+		assertEquals(1, gridSpatialIndex.intersects(new Rectangle(5, 5, 1, 1)).size());
+
+		gridSpatialIndex.add(new Rectangle(20, 20, 10, 10));
+	}
+
+	@Test
+	public void testConcurrentQueriesOnPage() throws Exception {
+		final Page page = UtilsForTesting.getPage("src/test/resources/technology/tabula/spanning_cells.pdf", 1);
+		List<? extends Rectangle> cells = SpreadsheetExtractionAlgorithm.findCells(page.getHorizontalRulings(), page.getVerticalRulings());
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<List<TextElement>>> texts = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				for (final Rectangle cell : cells) {
+					texts.add(executor.submit(new Callable<List<TextElement>>() {
+						@Override
+						public List<TextElement> call() {
+							return page.getText(cell);
+						}
+					}));
+				}
+			}
+			for (int i = 0; i < texts.size(); i++) {
+				assertEquals(page.getText(cells.get(i % cells.size())), texts.get(i).get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,93 @@
+package technology.tabula;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.Test;
+
+import technology.tabula.detectors.NurminenDetectionAlgorithm;
+import technology.tabula.detectors.NurminenDetectionAlgorithm.RulingSource;
+
+public class TestNurminenDetectionAlgorithm {
+
+    @Test
+    public void testVectorRulingsFindSameTablesAsRaster() throws IOException {
+        Page page = UtilsForTesting.getPage("src/test/resources/technology/tabula/twotables.pdf", 1);
+        NurminenDetectionAlgorithm detector = new NurminenDetectionAlgorithm();
+
+        List<Rectangle> raster = detector.detect(page, RulingSource.RASTER);
+        List<Rectangle> vector = detector.detect(page, RulingSource.VECTOR);
+
+        assertEquals(2, raster.size());
+        assertEquals(raster.size(), vector.size());
+        for (int i = 0; i < raster.size(); i++) {
+            Rectangle2D overlap = raster.get(i).createIntersection(vector.get(i));
+            assertTrue(area(overlap) > 0.9 * area(raster.get(i)));
+        }
+    }
+
+    @Test
+    public void testVectorFallsBackToRasterWithoutRulings() throws IOException {
+        Page page = UtilsForTesting.getPage("src/test/resources/technology/tabula/MultiColumn.pdf", 1);
+        assertTrue(page.getRulings().isEmpty());
+        NurminenDetectionAlgorithm detector = new NurminenDetectionAlgorithm();
+
+        List<Rectangle> raster = detector.detect(page);
+        List<Rectangle> vector = detector.detect(page, RulingSource.VECTOR);
+
+        assertEquals(1, raster.size());
+        assertEquals(raster, vector);
+    }
+
+    @Test
+    public void testMaskedRasterFindsSameTablesAsRaster() throws IOException {
+        for (String file : new String[] { "twotables.pdf", "eu-002.pdf", "12s0324.pdf" }) {
+            Page page = UtilsForTesting.getPage("src/test/resources/technology/tabula/" + file, 1);
+            NurminenDetectionAlgorithm detector = new NurminenDetectionAlgorithm();
+
+            assertEquals(file, detector.detect(page, RulingSource.RASTER), detector.detect(page, RulingSource.MASKED_RASTER));
+        }
+    }
+
+    @Test
+    public void testEdgeScanPoolDoesNotChangeTables() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String file : new String[] { "twotables.pdf", "eu-002.pdf" }) {
+                Page page = UtilsForTesting.getPage("src/test/resources/technology/tabula/" + file, 1);
+
+                assertEquals(file, new NurminenDetectionAlgorithm().detect(page),
+                        new NurminenDetectionAlgorithm(pool).detect(page));
+                assertEquals(file, new NurminenDetectionAlgorithm().detect(page, RulingSource.MASKED_RASTER),
+                        new NurminenDetectionAlgorithm(pool).detect(page, RulingSource.MASKED_RASTER));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testOnePixelWidePageHasNoTables() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage(new PDRectangle(0.5f, 200f)));
+            Page page = new ObjectExtractor(document).extract(1);
+            NurminenDetectionAlgorithm detector = new NurminenDetectionAlgorithm();
+
+            assertTrue(detector.detect(page).isEmpty());
+            assertTrue(detector.detect(page, RulingSource.MASKED_RASTER).isEmpty());
+        }
+    }
+
+    private static double area(Rectangle2D rectangle) {
+        return rectangle.getWidth() * rectangle.getHeight();
+    }
+
+}
@@ -4,8 +4,14 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -147,4 +153,207 @@ public class TestObjectExtractor {
             fail("NPE in ObjectExtractor " + e.toString());
         }
     }
+
+    @Test
+    public void testParallelExtractionMatchesSerialExtraction() throws Exception {
+        final File file = new File("src/test/resources/technology/tabula/schools.pdf");
+        PDDocument parallelDocument = Loader.loadPDF(file);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try (ObjectExtractor serial = new ObjectExtractor(Loader.loadPDF(file));
+             ObjectExtractor parallel = new ObjectExtractor(parallelDocument)) {
+            PageIterator expected = serial.extract();
+            PageIterator actual = parallel.extract(executor, new Callable<PDDocument>() {
+                @Override
+                public PDDocument call() throws IOException {
+                    return Loader.loadPDF(file);
+                }
+            }, 3);
+
+            int pages = 0;
+            while (expected.hasNext()) {
+                assertTrue(actual.hasNext());
+                Page expectedPage = expected.next();
+                Page actualPage = actual.next();
+                assertEquals(expectedPage.getPageNumber(), actualPage.getPageNumber());
+                assertEquals(expectedPage.getText().size(), actualPage.getText().size());
+                for (int i = 0; i < expectedPage.getText().size(); i++) {
+                    assertEquals(expectedPage.getText().get(i).getText(), actualPage.getText().get(i).getText());
+                    assertEquals(expectedPage.getText().get(i).getBounds2D(), actualPage.getText().get(i).getBounds2D());
+                }
+                assertEquals(expectedPage.getRulings().size(), actualPage.getRulings().size());
+                assertSame(parallelDocument, actualPage.getPDDoc());
+                pages++;
+            }
+            assertFalse(actual.hasNext());
+            assertEquals(5, pages);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelExtractionLoadsAtMostParallelismDocuments() throws Exception {
+        final File file = new File("src/test/resources/technology/tabula/schools.pdf");
+        final List<PDDocument> loaded = Collections.synchronizedList(new ArrayList<PDDocument>());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try (ObjectExtractor extractor = new ObjectExtractor(Loader.loadPDF(file))) {
+            PageIterator pages = extractor.extract(executor, new Callable<PDDocument>() {
+                @Override
+                public PDDocument call() throws IOException {
+                    PDDocument document = Loader.loadPDF(file);
+                    loaded.add(document);
+                    return document;
+                }
+            }, 2);
+
+            int count = 0;
+            while (pages.hasNext()) {
+                pages.next();
+                count++;
+            }
+            assertEquals(5, count);
+            assertTrue(loaded.size() <= 2);
+            // the last page released the worker documents
+            for (PDDocument document : loaded) {
+                assertTrue(document.getDocument().isClosed());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testClosingParallelExtractionDoesNotWaitForQueuedPages() throws Exception {
+        final File file = new File("src/test/resources/technology/tabula/schools.pdf");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ObjectExtractor extractor = new ObjectExtractor(Loader.loadPDF(file));
+        PageIterator pages = extractor.extract(executor, new Callable<PDDocument>() {
+            @Override
+            public PDDocument call() throws IOException {
+                return Loader.loadPDF(file);
+            }
+        }, 2);
+
+        Page first = pages.next();
+        // queued pages are dropped without being cancelled
+        executor.shutdownNow();
+        extractor.close();
+        assertEquals(1, first.getPageNumber());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testParallelExtractionThrowsPageFailures() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (ObjectExtractor extractor = new ObjectExtractor(Loader.loadPDF(new File("src/test/resources/technology/tabula/schools.pdf")))) {
+            PageIterator pages = extractor.extract(executor, new Callable<PDDocument>() {
+                @Override
+                public PDDocument call() throws IOException {
+                    throw new IOException("can't load");
+                }
+            }, 1);
+            pages.next();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedSpatialIndexHoldsThePageText() throws IOException {
+        for (boolean columnar : new boolean[] { false, true }) {
+            try (ObjectExtractor oe = new ObjectExtractor(Loader.loadPDF(new File("src/test/resources/technology/tabula/eu-002.pdf")), columnar)) {
+                Page page = oe.extract(1);
+                Rectangle area = new Rectangle(100f, 50f, 300f, 200f);
+                RectangleSpatialIndex<TextElement> index = page.getSpatialIndex();
+
+                assertNotNull(index);
+                assertSame(index, page.getSpatialIndex());
+                assertEquals(page.getText(area).size(), index.contains(area).size());
+                assertEquals(page.getText().size(), index.contains(page).size());
+            }
+        }
+    }
+
+    @Test
+    public void testColumnarPageTextDoesNotRetainElements() throws IOException {
+        try (ObjectExtractor oe = new ObjectExtractor(Loader.loadPDF(new File("src/test/resources/technology/tabula/eu-002.pdf")), true)) {
+            Page page = oe.extract(1);
+            List<TextElement> text = page.getText();
+
+            int row = 0;
+            for (TextElement te : text) {
+                TextElement again = text.get(row++);
+                assertEquals(te, again);
+                assertNotSame(te, again);
+            }
+            assertEquals(text.size(), row);
+        }
+    }
+
+    @Test
+    public void testSinglePassRulingsMatchGraphicsPass() throws IOException {
+        String[] files = { "us-017.pdf", "eu-002.pdf", "should_detect_rulings.pdf", "rotated_page.pdf", "spanning_cells.pdf" };
+        for (String file : files) {
+            try (PDDocument document = Loader.loadPDF(new File("src/test/resources/technology/tabula/" + file))) {
+                for (int pageNumber = 1; pageNumber <= document.getNumberOfPages(); pageNumber++) {
+                    ObjectExtractorStreamEngine streamEngine = new ObjectExtractorStreamEngine(document.getPage(pageNumber - 1));
+                    streamEngine.processPage(document.getPage(pageNumber - 1));
+                    TextAndRulingStripper stripper = new TextAndRulingStripper(document, pageNumber, false);
+                    stripper.process();
+
+                    assertEquals(file, streamEngine.rulings.size(), stripper.getRulings().size());
+                    for (int i = 0; i < streamEngine.rulings.size(); i++) {
+                        assertEquals(file, streamEngine.rulings.get(i), stripper.getRulings().get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDropObliqueRulings() throws IOException {
+        try (PDDocument document = Loader.loadPDF(new File("src/test/resources/technology/tabula/S2MNCEbirdisland.pdf"))) {
+            TextAndRulingStripper keeping = new TextAndRulingStripper(document, 1, false, false);
+            keeping.process();
+            TextAndRulingStripper dropping = new TextAndRulingStripper(document, 1, false, true);
+            dropping.process();
+
+            List<Ruling> expected = new ArrayList<>();
+            for (Ruling ruling : keeping.getRulings()) {
+                if (!ruling.oblique()) {
+                    expected.add(ruling);
+                }
+            }
+            assertTrue(expected.size() < keeping.getRulings().size());
+            assertEquals(expected, dropping.getRulings());
+
+            assertEquals(0, keeping.getDroppedSegments(RulingCollector.SegmentFilter.OBLIQUE));
+            assertTrue(dropping.getDroppedSegments(RulingCollector.SegmentFilter.OBLIQUE) > 0);
+            for (TextAndRulingStripper stripper : Arrays.asList(keeping, dropping)) {
+                assertTrue(stripper.getDroppedSegments(RulingCollector.SegmentFilter.CURVED_PATH) > 0);
+                assertTrue(stripper.getDroppedSegments(RulingCollector.SegmentFilter.TOO_SHORT) > 0);
+            }
+        }
+    }
+
+    @Test
+    public void testColumnarTextMatchesTextElements() throws IOException {
+        String[] files = { "us-017.pdf", "eu-002.pdf", "arabic.pdf", "spanning_cells.pdf" };
+        for (String file : files) {
+            try (PDDocument document = Loader.loadPDF(new File("src/test/resources/technology/tabula/" + file))) {
+                Page page = new ObjectExtractor(document).extract(1);
+                Page columnarPage = new ObjectExtractor(document, true).extract(1);
+
+                assertNull(page.getTextElementColumns());
+                assertEquals(file, page.getText().size(), columnarPage.getTextElementColumns().size());
+                assertEquals(file, page.getText(), columnarPage.getText());
+
+                Rectangle area = new Rectangle(page.getTop() + 50, page.getLeft() + 50, page.width / 2, page.height / 2);
+                assertEquals(file, page.getText(area), columnarPage.getText(area));
+                assertEquals(file, page.getArea(area).getText(area), columnarPage.getArea(area).getText(area));
+            }
+        }
+    }
 }
@@ -2,6 +2,13 @@ package technology.tabula;
 
 import static org.junit.Assert.*;
 
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -104,4 +111,99 @@ public class TestRuling {
 
 	}
 
+	@Test
+	public void testRulingIntersectionsMatchIntersectionMap() throws IOException {
+		Page page = UtilsForTesting.getPage("src/test/resources/technology/tabula/spanning_cells.pdf", 1);
+		Map<Point2D, Ruling[]> expected = Ruling.findIntersections(page.getHorizontalRulings(), page.getVerticalRulings());
+		RulingIntersections intersections = Ruling.findRulingIntersections(page.getHorizontalRulings(), page.getVerticalRulings());
+
+		assertFalse(expected.isEmpty());
+		assertEquals(expected.size(), intersections.size());
+		int i = 0;
+		for (Map.Entry<Point2D, Ruling[]> entry : expected.entrySet()) {
+			assertEquals(entry.getKey(), intersections.getPoint(i));
+			assertEquals(entry.getValue()[0], intersections.getHorizontal(i));
+			assertEquals(entry.getValue()[1], intersections.getVertical(i));
+			assertEquals(i, intersections.indexOf((float) entry.getKey().getX(), (float) entry.getKey().getY()));
+			i++;
+		}
+		page.getPDDoc().close();
+	}
+
+	@Test
+	public void testRulingIntersectionsRowsAndColumns() {
+		List<Ruling> horizontals = new ArrayList<>();
+		List<Ruling> verticals = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			horizontals.add(new Ruling(-10 + i * 10, -10, 20, 0));
+			verticals.add(new Ruling(-10, -10 + i * 10, 0, 20));
+		}
+		RulingIntersections intersections = Ruling.findRulingIntersections(horizontals, verticals);
+
+		assertEquals(9, intersections.size());
+		int center = intersections.indexOf(0, 0);
+		assertEquals(4, center);
+		assertEquals(0f, intersections.getX(center), 0);
+		assertEquals(center, intersections.indexOf(-0f, -0f));
+		assertEquals(-1, intersections.indexOf(5, 0));
+
+		assertEquals(intersections.indexOf(10, 0), intersections.nextInRow(center));
+		assertEquals(-1, intersections.nextInRow(intersections.indexOf(10, 0)));
+		assertEquals(intersections.indexOf(0, 10), intersections.nextInColumn(center));
+		assertEquals(-1, intersections.nextInColumn(intersections.indexOf(0, 10)));
+		assertEquals(new Point2D.Float(-10, -10), intersections.getPoint(0));
+	}
+
+	@Test
+	public void testCollapseOrientedRulingsMergesInPlace() {
+		Ruling a = new Ruling(new Point2D.Float(0, 10), new Point2D.Float(50, 10));
+		Ruling flipped = new Ruling(new Point2D.Float(100, 10), new Point2D.Float(48, 10));
+		Ruling apart = new Ruling(new Point2D.Float(200, 10), new Point2D.Float(250, 10));
+		Ruling above = new Ruling(new Point2D.Float(20, 5), new Point2D.Float(30, 5));
+		List<Ruling> lines = new ArrayList<>(Arrays.asList(apart, flipped, a, above));
+
+		List<Ruling> collapsed = Ruling.collapseOrientedRulings(lines);
+
+		assertEquals(Arrays.asList(above, a, flipped, apart), lines);
+		assertEquals(3, collapsed.size());
+		assertSame(above, collapsed.get(0));
+		assertSame(a, collapsed.get(1));
+		assertSame(apart, collapsed.get(2));
+		assertEquals(new Ruling(new Point2D.Float(0, 10), new Point2D.Float(100, 10)), a);
+		assertEquals(new Ruling(new Point2D.Float(100, 10), new Point2D.Float(48, 10)), flipped);
+	}
+
+	@Test
+	public void testCollapseOrientedRulingsTakesStartsOfNegativeZeroForZero() {
+		Ruling first = new Ruling(new Point2D.Float(0f, 10), new Point2D.Float(5, 10));
+		Ruling second = new Ruling(new Point2D.Float(-0f, 20), new Point2D.Float(5, 20));
+		Ruling third = new Ruling(new Point2D.Float(-0f, 10), new Point2D.Float(9, 10));
+		Ruling fourth = new Ruling(new Point2D.Float(0f, 20), new Point2D.Float(3, 20));
+		List<Ruling> lines = new ArrayList<>(Arrays.asList(fourth, third, second, first));
+
+		List<Ruling> collapsed = Ruling.collapseOrientedRulings(lines);
+
+		// equal positions and starts keep the order of the list
+		assertEquals(Arrays.asList(third, first, fourth, second), lines);
+		assertEquals(Arrays.asList(third, fourth), collapsed);
+		assertEquals(9f, third.x2, 0f);
+		assertEquals(5f, fourth.x2, 0f);
+	}
+
+	@Test
+	public void testCollapseOrientedRulingsDropsRulingsOfLengthZero() {
+		Ruling point = new Ruling(new Point2D.Float(40, 10), new Point2D.Float(40, 10));
+		Ruling ruling = new Ruling(new Point2D.Float(0, 10), new Point2D.Float(20, 10));
+		List<Ruling> lines = new ArrayList<>(Arrays.asList(point, ruling));
+
+		assertEquals(Arrays.asList(ruling), Ruling.collapseOrientedRulings(lines));
+		assertEquals(Arrays.asList(ruling, point), lines);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testCollapseOrientedRulingsRejectsObliqueRulings() {
+		Ruling oblique = new Ruling(new Point2D.Float(0, 0), new Point2D.Float(10, 10));
+		Ruling.collapseOrientedRulings(new ArrayList<>(Arrays.asList(oblique)));
+	}
+
 }
@@ -2,6 +2,7 @@ package technology.tabula;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.awt.geom.Point2D;
@@ -156,6 +157,26 @@ public class TestSpreadsheetExtractor {
         assertFalse(cells.get(0).intersects(cells.get(1)));
     }
 
+    @Test
+    public void testDetectCellsOfLargeGrid() {
+        List<Ruling> horizontals = new ArrayList<>();
+        List<Ruling> verticals = new ArrayList<>();
+        for (int i = 0; i <= 60; i++) {
+            horizontals.add(new Ruling(10 + i * 7.5f, 10, 80 * 5, 0));
+        }
+        for (int i = 0; i <= 80; i++) {
+            verticals.add(new Ruling(10, 10 + i * 5, 0, 60 * 7.5f));
+        }
+
+        List<Cell> cells = SpreadsheetExtractionAlgorithm.findCells(horizontals, verticals);
+        assertEquals(60 * 80, cells.size());
+        // row by row, left to right
+        assertEquals(new Cell(10, 10, 5, 7.5f), cells.get(0));
+        assertEquals(new Cell(10, 15, 5, 7.5f), cells.get(1));
+        assertEquals(new Cell(17.5f, 10, 5, 7.5f), cells.get(80));
+        assertEquals(new Cell(452.5f, 405, 5, 7.5f), cells.get(cells.size() - 1));
+    }
+
     @Test
     public void testFindSpreadsheetsFromCells() throws IOException {
 
@@ -208,6 +229,42 @@ public class TestSpreadsheetExtractor {
         page.getPDDoc().close();
     }
 
+    @Test
+    public void testSpanningCellsWithTextInPageOrder() throws IOException {
+        Page page = UtilsForTesting
+                .getPage("src/test/resources/technology/tabula/spanning_cells.pdf", 1);
+        String expectedJson = UtilsForTesting.loadJson("src/test/resources/technology/tabula/json/spanning_cells.json");
+        SpreadsheetExtractionAlgorithm se = new SpreadsheetExtractionAlgorithm(true);
+        List<Table> tables = se.extract(page);
+        assertEquals(2, tables.size());
+
+        StringBuilder sb = new StringBuilder();
+        (new JSONWriter()).write(sb, tables);
+        assertEquals(expectedJson, sb.toString());
+        page.getPDDoc().close();
+    }
+
+    @Test
+    public void testCellTextMatchesTextInCell() throws IOException {
+        Page page = UtilsForTesting
+                .getPage("src/test/resources/technology/tabula/twotables.pdf", 1);
+        for (boolean textInPageOrder : new boolean[] { false, true }) {
+            List<Table> tables = new SpreadsheetExtractionAlgorithm(textInPageOrder).extract(page);
+            assertFalse(tables.isEmpty());
+            for (Table table : tables) {
+                for (List<RectangularTextContainer> row : table.getRows()) {
+                    for (RectangularTextContainer cell : row) {
+                        if (cell instanceof Cell && !((Cell) cell).isPlaceholder()) {
+                            List<TextElement> text = textInPageOrder ? page.getTextInPageOrder(cell) : page.getText(cell);
+                            assertEquals(TextElement.mergeWords(text).toString(), cell.getTextElements().toString());
+                        }
+                    }
+                }
+            }
+        }
+        page.getPDDoc().close();
+    }
+
     @Test
     public void testSpanningCellsToCsv() throws IOException {
         Page page = UtilsForTesting
@@ -544,4 +601,26 @@ public class TestSpreadsheetExtractor {
         page.getPDDoc().close();
     }    
 
+    @Test
+    public void testColumnsOfCellsBesideARowSpanningCell() {
+        // A spans the first two rows, so D and E start in the second column
+        Cell a = new Cell(0, 0, 20, 20), b = new Cell(0, 20, 20, 10), c = new Cell(0, 40, 20, 10);
+        Cell d = new Cell(10, 20, 20, 10), e = new Cell(10, 40, 20, 10);
+        Cell f = new Cell(20, 0, 20, 10), g = new Cell(20, 20, 20, 10), h = new Cell(20, 40, 20, 10);
+        List<Cell> cells = new ArrayList<>(Arrays.asList(a, b, c, d, e, f, g, h));
+
+        Table table = new TableWithRulingLines(new Rectangle(0, 0, 60, 30), cells,
+                new ArrayList<Ruling>(), new ArrayList<Ruling>(), new SpreadsheetExtractionAlgorithm(), 1);
+
+        assertEquals(3, table.getRowCount());
+        assertEquals(3, table.getColCount());
+        assertSame(a, table.getCell(0, 0));
+        assertSame(c, table.getCell(0, 2));
+        assertSame(TextChunk.EMPTY, table.getCell(1, 0));
+        assertSame(d, table.getCell(1, 1));
+        assertSame(e, table.getCell(1, 2));
+        assertSame(f, table.getCell(2, 0));
+        assertSame(h, table.getCell(2, 2));
+    }
+
 }
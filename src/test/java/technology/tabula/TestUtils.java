@@ -121,6 +121,29 @@ public class TestUtils {
     	assertEquals(expectedNumbers, numbers);
     }
 
+    @Test
+    public void testSnapPoints() {
+        List<Ruling> rulings = Arrays.asList(
+                new Ruling(new Point2D.Float(10, 10), new Point2D.Float(100, 10)),
+                new Ruling(new Point2D.Float(11, 12), new Point2D.Float(11, 80)),
+                new Ruling(new Point2D.Float(12, 80), new Point2D.Float(101, 80)));
+
+        Utils.snapPoints(rulings, 3, 3);
+
+        // groups are averaged, the endpoint with the largest coordinate is left alone
+        assertEquals(new Point2D.Float(11, 32f / 3), rulings.get(0).getP1());
+        assertEquals(new Point2D.Float(100, 32f / 3), rulings.get(0).getP2());
+        assertEquals(new Point2D.Float(11, 32f / 3), rulings.get(1).getP1());
+        assertEquals(new Point2D.Float(11, 80), rulings.get(1).getP2());
+        assertEquals(new Point2D.Float(11, 80), rulings.get(2).getP1());
+        assertEquals(new Point2D.Float(101, 80), rulings.get(2).getP2());
+    }
+
+    @Test
+    public void testSnapPointsOfNoRulings() {
+        Utils.snapPoints(new ArrayList<Ruling>(), 1, 1);
+    }
+
     @Test
     public void testJPEG2000DoesNotRaise() throws IOException {
         PDDocument pdf_document = Loader.loadPDF(new File("src/test/resources/technology/tabula/jpeg2000.pdf"));
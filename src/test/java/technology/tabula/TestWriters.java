@@ -3,15 +3,19 @@ package technology.tabula;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 
 import technology.tabula.extractors.BasicExtractionAlgorithm;
 import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
+import technology.tabula.json.RectangularTextContainerSerializer;
+import technology.tabula.json.TableSerializer;
 import technology.tabula.writers.CSVWriter;
 import technology.tabula.writers.JSONWriter;
 import technology.tabula.writers.TSVWriter;
@@ -133,4 +137,69 @@ public class TestWriters {
         assertEquals(expectedCsv, s);
     }
 
+    @Test
+    public void testJSONStreamTwoTables() throws IOException {
+        String expectedJson = UtilsForTesting.loadJson("src/test/resources/technology/tabula/json/twotables.json");
+        List<Table> tables = this.getTables();
+        StringBuilder sb = new StringBuilder();
+        JSONWriter writer = new JSONWriter();
+        writer.begin(sb);
+        for (Table table : tables) {
+            writer.writeTable(table);
+        }
+        writer.end();
+
+        assertEquals(expectedJson, sb.toString());
+    }
+
+    @Test
+    public void testCSVStreamTwoTables() throws IOException {
+        String expectedCsv = UtilsForTesting.loadCsv("src/test/resources/technology/tabula/csv/twotables.csv");
+        List<Table> tables = this.getTables();
+        StringBuilder sb = new StringBuilder();
+        CSVWriter writer = new CSVWriter();
+        writer.begin(sb);
+        writer.writeTable(tables.get(0));
+        String firstTable = sb.toString();
+        writer.writeTable(tables.get(1));
+        writer.end();
+
+        assertEquals(expectedCsv, sb.toString());
+        assertEquals(true, expectedCsv.startsWith(firstTable));
+    }
+
+    @Test
+    public void testCSVWriteDuringStream() throws IOException {
+        String expectedCsv = UtilsForTesting.loadCsv("src/test/resources/technology/tabula/csv/twotables.csv");
+        List<Table> tables = this.getTables();
+        StringBuilder streamed = new StringBuilder(), written = new StringBuilder();
+        CSVWriter writer = new CSVWriter();
+        writer.begin(streamed);
+        writer.writeTable(tables.get(0));
+        writer.write(written, tables);
+        writer.writeTable(tables.get(1));
+        writer.end();
+
+        assertEquals(expectedCsv, written.toString());
+        assertEquals(expectedCsv, streamed.toString());
+    }
+
+    @Test
+    public void testJSONWriterMatchesTableSerializer() throws IOException {
+        Table table = Table.empty();
+        table.add(new TextChunk(new TextElement(5f, 15f, 10f, 20f, null, 1f, "<a & b='c'>", 1f)), 0, 0);
+        table.add(new TextChunk(new TextElement(25f, 15f, Float.POSITIVE_INFINITY, 20f, null, 1f, "\u00e9", 1f)), 1, 1);
+
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(Table.class, TableSerializer.INSTANCE)
+                .registerTypeAdapter(TextChunk.class, RectangularTextContainerSerializer.INSTANCE)
+                .create();
+        JsonArray expected = new JsonArray();
+        expected.add(gson.toJsonTree(table, Table.class));
+
+        StringBuilder sb = new StringBuilder();
+        (new JSONWriter()).write(sb, Collections.singletonList(table));
+        assertEquals(gson.toJson(expected), sb.toString());
+    }
+
 }